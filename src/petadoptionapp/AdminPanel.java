@@ -8,9 +8,9 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.plaf.basic.BasicButtonUI;
 
 // Inheritance - Extends JPanel to create custom panel
@@ -33,9 +33,12 @@ public class AdminPanel extends JPanel {
     private JButton clearFormButton;
     private Pet currentEditingPet;
     private DefaultListModel<String> petListModel;
+    // Pet ID behind each row of petListModel
+    private final java.util.List<Long> petListIds = new ArrayList<>();
     private JList<String> petJList;
     private JButton removePetButton;
     private JButton editPetButton;
+    private PetCursor petListCursor;
 
     // Encapsulation - Private fields with public methods to access them
     private static final Color BACKGROUND_LIGHT_GREY = Color.decode("#F2F4F8");
@@ -48,6 +51,7 @@ public class AdminPanel extends JPanel {
     private static final Color DELETE_RED_HOVER = Color.decode("#C9302C");
     private static final Color CLEAR_BUTTON_COLOR = Color.decode("#6C757D");
     private static final Color CLEAR_BUTTON_HOVER = Color.decode("#5A6268");
+    private static final int LIST_PAGE_SIZE = 100;
 
     public AdminPanel(AllPetsPanel allPetsPanel) {
         this.allPetsPanel = allPetsPanel;
@@ -276,6 +280,18 @@ public class AdminPanel extends JPanel {
         removePetPanel.add(removePetTitle);
         removePetPanel.add(Box.createVerticalStrut(35));
 
+        // Typo-tolerant name lookup; picking a suggestion selects that pet in the list
+        JPanel findPetPanel = new JPanel(new BorderLayout(10, 0));
+        findPetPanel.setOpaque(false);
+        findPetPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        findPetPanel.add(createLabel("Find pet:"), BorderLayout.WEST);
+        JTextField findPetField = styleTextField(new JTextField(20));
+        PetNameTypeAhead.attach(findPetField, this::selectPetInList);
+        findPetPanel.add(findPetField, BorderLayout.CENTER);
+        findPetPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, findPetField.getPreferredSize().height));
+        removePetPanel.add(findPetPanel);
+        removePetPanel.add(Box.createVerticalStrut(15));
+
         petListModel = new DefaultListModel<>();
         petJList = new JList<>(petListModel);
         petJList.setFont(new Font("SansSerif", Font.PLAIN, 15));
@@ -304,6 +320,12 @@ public class AdminPanel extends JPanel {
         scrollPane.setBorder(BorderFactory.createLineBorder(BORDER_GREY, 1));
         scrollPane.getViewport().setBackground(PANEL_WHITE);
         scrollPane.setAlignmentX(Component.CENTER_ALIGNMENT);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = (JScrollBar) e.getAdjustable();
+            if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - petJList.getFixedCellHeight() * 10) {
+                loadNextListPage();
+            }
+        });
         removePetPanel.add(scrollPane);
 
         removePetPanel.add(Box.createVerticalStrut(35));
@@ -447,14 +469,14 @@ public class AdminPanel extends JPanel {
             int age = Integer.parseInt(ageField.getText().trim());
             int months = Integer.parseInt(monthsField.getText().trim());
             String imagePath = imagePathField.getText().trim();
-            String gender = (String) genderComboBox.getSelectedItem();
+            Gender gender = Gender.fromLabel((String) genderComboBox.getSelectedItem());
             String type = (String) typeComboBox.getSelectedItem();
 
             String color = colorField.getText().trim();
             String breed = breedField.getText().trim();
             String healthStatus = healthStatusField.getText().trim();
-            String spayedNeutered = (String) spayedNeuteredComboBox.getSelectedItem();
-            String vaccinationsDeworm = vaccinationsDewormField.getText().trim();
+            SpayStatus spayStatus = SpayStatus.fromLabel((String) spayedNeuteredComboBox.getSelectedItem());
+            Set<String> vaccinations = PetDescriptionParser.parseVaccinations(vaccinationsDewormField.getText());
             String additionalDescription = descriptionArea.getText().trim(); 
 
             if (name.isEmpty() || imagePath.isEmpty()) {
@@ -466,36 +488,25 @@ public class AdminPanel extends JPanel {
                 return;
             }
 
-            StringBuilder fullDescription = new StringBuilder();
-            if (!color.isEmpty()) fullDescription.append("Color: ").append(color).append("\n");
-            if (!breed.isEmpty()) fullDescription.append("Breed: ").append(breed).append("\n");
-            if (!healthStatus.isEmpty()) fullDescription.append("Health Status: ").append(healthStatus).append("\n");
-            if (spayedNeutered != null && !spayedNeutered.isEmpty()) fullDescription.append("Spayed/Neutered: ").append(spayedNeutered).append("\n");
-            if (!vaccinationsDeworm.isEmpty()) fullDescription.append("Vaccinations & Deworm: ").append(vaccinationsDeworm).append("\n");
-            if (!additionalDescription.isEmpty()) fullDescription.append("Description: ").append(additionalDescription).append("\n");
-            
-            String finalDescription = fullDescription.toString().trim();
-
             if (currentEditingPet == null) {
                 // Polymorphism - Creating different pet types through common interface
                 Pet newPet;
                 if (Objects.equals(type, "Cat")) {
-                    newPet = new Cat(name, age, months, finalDescription, imagePath, gender);
+                    newPet = new Cat(name, age, months, gender, imagePath);
                 } else {
-                    newPet = new Dog(name, age, months, finalDescription, imagePath, gender);
+                    newPet = new Dog(name, age, months, gender, imagePath);
                 }
-                allPetsPanel.addPet(newPet);
-                JOptionPane.showMessageDialog(this, "Pet added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                applyAttributes(newPet, color, breed, healthStatus, spayStatus, vaccinations, additionalDescription);
+                showWhenSaved(allPetsPanel.addPet(newPet), "Pet added successfully!");
             } else {
                 currentEditingPet.setName(name);
                 currentEditingPet.setAge(age);
                 currentEditingPet.setMonths(months);
                 currentEditingPet.setImagePath(imagePath);
                 currentEditingPet.setGender(gender);
-                currentEditingPet.setDescription(finalDescription);
+                applyAttributes(currentEditingPet, color, breed, healthStatus, spayStatus, vaccinations, additionalDescription);
 
-                PetDataManager.savePets(allPetsPanel.getFullPetList());
-                JOptionPane.showMessageDialog(this, "Pet updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                showWhenSaved(allPetsPanel.update(currentEditingPet), "Pet updated successfully!");
             }
 
             clearManagePetForm(); 
@@ -509,19 +520,31 @@ public class AdminPanel extends JPanel {
         }
     }
 
+    private void applyAttributes(Pet pet, String color, String breed, String healthStatus,
+                                 SpayStatus spayStatus, Set<String> vaccinations, String notes) {
+        pet.setColor(color);
+        pet.setBreed(breed);
+        pet.setHealthStatus(healthStatus);
+        pet.setSpayStatus(spayStatus);
+        pet.setVaccinations(vaccinations);
+        pet.setNotes(notes);
+    }
+
+    // Abstraction - Reports the outcome once the background writer has saved the change
+    private void showWhenSaved(CompletableFuture<Void> saved, String successMessage) {
+        saved.whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                JOptionPane.showMessageDialog(this, successMessage, "Success", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Error saving pet data: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }));
+    }
+
     private void removeSelectedPet() {
         int selectedIndex = petJList.getSelectedIndex();
         if (selectedIndex != -1) {
-            String selectedPetString = petListModel.getElementAt(selectedIndex);
-            String petName = selectedPetString.substring(0, selectedPetString.lastIndexOf(" ("));
-
-            Pet petToRemove = null;
-            for (Pet pet : allPetsPanel.getFullPetList()) {
-                if (pet.getName().equals(petName)) {
-                    petToRemove = pet;
-                    break;
-                }
-            }
+            Pet petToRemove = PetDataManager.getPet(petListIds.get(selectedIndex));
 
             if (petToRemove != null) {
                 int confirm = JOptionPane.showConfirmDialog(this,
@@ -531,10 +554,10 @@ public class AdminPanel extends JPanel {
                         JOptionPane.QUESTION_MESSAGE);
 
                 if (confirm == JOptionPane.YES_OPTION) {
-                    allPetsPanel.removePet(petToRemove);
+                    CompletableFuture<Void> saved = allPetsPanel.removePet(petToRemove);
                     updatePetListDisplay();
-                    JOptionPane.showMessageDialog(this, "Pet removed successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                     clearManagePetForm(); 
+                    showWhenSaved(saved, "Pet removed successfully!");
                 }
             } else {
                 JOptionPane.showMessageDialog(this, "Selected pet not found in the list.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -547,18 +570,13 @@ public class AdminPanel extends JPanel {
     private void editSelectedPet() {
         int selectedIndex = petJList.getSelectedIndex();
         if (selectedIndex != -1) {
-            String selectedPetString = petListModel.getElementAt(selectedIndex);
-            String petName = selectedPetString.substring(0, selectedPetString.lastIndexOf(" ("));
-
-            for (Pet pet : allPetsPanel.getFullPetList()) {
-                if (pet.getName().equals(petName)) {
-                    currentEditingPet = pet;
-                    populateManagePetForm(pet);
-                    managePetTitle.setText("Edit Pet Details");
-                    saveOrUpdateButton.setText("Update Pet");
-                    typeComboBox.setEnabled(false); 
-                    break;
-                }
+            Pet pet = PetDataManager.getPet(petListIds.get(selectedIndex));
+            if (pet != null) {
+                currentEditingPet = pet;
+                populateManagePetForm(pet);
+                managePetTitle.setText("Edit Pet Details");
+                saveOrUpdateButton.setText("Update Pet");
+                typeComboBox.setEnabled(false); 
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select a pet to edit.", "Selection Error", JOptionPane.WARNING_MESSAGE);
@@ -570,49 +588,15 @@ public class AdminPanel extends JPanel {
         ageField.setText(String.valueOf(pet.getAge()));
         monthsField.setText(String.valueOf(pet.getMonths()));
         imagePathField.setText(pet.getImagePath());
-        genderComboBox.setSelectedItem(pet.getGender());
+        genderComboBox.setSelectedItem(pet.getGender() == null ? null : pet.getGender().getLabel());
         typeComboBox.setSelectedItem(pet instanceof Cat ? "Cat" : "Dog");
 
-        String description = pet.getDescription();
-        Map<String, String> parsedDetails = parseDescription(description);
-
-        colorField.setText(parsedDetails.getOrDefault("Color", ""));
-        breedField.setText(parsedDetails.getOrDefault("Breed", ""));
-        healthStatusField.setText(parsedDetails.getOrDefault("Health Status", ""));
-        spayedNeuteredComboBox.setSelectedItem(parsedDetails.getOrDefault("Spayed/Neutered", "Not yet"));
-        vaccinationsDewormField.setText(parsedDetails.getOrDefault("Vaccinations & Deworm", ""));
-        descriptionArea.setText(parsedDetails.getOrDefault("Description", "")); 
-    }
-
-    private Map<String, String> parseDescription(String description) {
-        Map<String, String> details = new HashMap<>();
-        String[] lines = description.split("\n");
-        StringBuilder remainingDescription = new StringBuilder();
-
-        for (String line : lines) {
-            if (line.startsWith("Color:")) {
-                details.put("Color", line.substring("Color:".length()).trim());
-            } else if (line.startsWith("Breed:")) {
-                details.put("Breed", line.substring("Breed:".length()).trim());
-            } else if (line.startsWith("Health Status:")) {
-                details.put("Health Status", line.substring("Health Status:".length()).trim());
-            } else if (line.startsWith("Spayed/Neutered:")) {
-                details.put("Spayed/Neutered", line.substring("Spayed/Neutered:".length()).trim());
-            } else if (line.startsWith("Vaccinations & Deworm:")) {
-                details.put("Vaccinations & Deworm", line.substring("Vaccinations & Deworm:".length()).trim());
-            } else if (line.startsWith("Description:")) {
-                details.put("Description", line.substring("Description:".length()).trim());
-            } else {
-                if (remainingDescription.length() > 0) remainingDescription.append("\n");
-                remainingDescription.append(line);
-            }
-        }
-        if (details.get("Description") == null && remainingDescription.length() > 0) {
-             details.put("Description", remainingDescription.toString().trim());
-        } else if (details.get("Description") != null && remainingDescription.length() > 0) {
-            details.put("Description", details.get("Description") + "\n" + remainingDescription.toString().trim());
-        }
-        return details;
+        colorField.setText(pet.getColor());
+        breedField.setText(pet.getBreed());
+        healthStatusField.setText(pet.getHealthStatus());
+        spayedNeuteredComboBox.setSelectedItem(pet.getSpayStatus().getLabel());
+        vaccinationsDewormField.setText(PetDescriptionParser.formatVaccinations(pet.getVaccinations()));
+        descriptionArea.setText(pet.getNotes());
     }
 
     private void clearManagePetForm() {
@@ -637,8 +621,36 @@ public class AdminPanel extends JPanel {
 
     public void updatePetListDisplay() {
         petListModel.clear();
-        for (Pet pet : allPetsPanel.getFullPetList()) {
+        petListIds.clear();
+        petListCursor = PetDataManager.openCursor(PetQuery.all(), LIST_PAGE_SIZE);
+        loadNextListPage();
+    }
+
+    // Pages the list forward until the pet is loaded, then selects and reveals it
+    private void selectPetInList(Pet pet) {
+        int index = petListIds.indexOf(pet.getId());
+        while (index < 0 && petListCursor != null && petListCursor.hasMore()) {
+            int loaded = petListIds.size();
+            loadNextListPage();
+            index = petListIds.subList(loaded, petListIds.size()).indexOf(pet.getId());
+            if (index >= 0) {
+                index += loaded;
+            }
+        }
+        if (index >= 0) {
+            petJList.setSelectedIndex(index);
+            petJList.ensureIndexIsVisible(index);
+        }
+    }
+
+    // Abstraction - The list is filled a page at a time as the admin scrolls down
+    private void loadNextListPage() {
+        if (petListCursor == null || !petListCursor.hasMore()) {
+            return;
+        }
+        for (Pet pet : petListCursor.nextPage()) {
             String type = (pet instanceof Cat) ? "Cat" : "Dog";
+            petListIds.add(pet.getId());
             petListModel.addElement(pet.getName() + " (" + type + ")");
         }
     }
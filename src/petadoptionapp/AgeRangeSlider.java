@@ -0,0 +1,156 @@
+package petadoptionapp;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/*
+ * Abstraction - Slider with two handles selecting an age range in months.
+ *
+ * Listeners are told about every move; getValueIsAdjusting() is true while a
+ * handle is being dragged and false for the final event on release, so
+ * callers can preview cheaply during the drag and do the real work once.
+ */
+class AgeRangeSlider extends JComponent {
+    private static final int HANDLE_RADIUS = 8;
+    private static final int TRACK_HEIGHT = 4;
+    private static final Color TRACK_COLOR = Color.decode("#E0E0E0");
+    private static final Color RANGE_COLOR = Color.decode("#2B4576");
+    private static final Color HANDLE_BORDER = Color.decode("#4A699A");
+
+    private final int maximum;
+    private int lowValue;
+    private int highValue;
+    private boolean adjusting;
+    // The handle being dragged: 0 for low, 1 for high, -1 for none
+    private int activeHandle = -1;
+
+    AgeRangeSlider(int maximum) {
+        this.maximum = maximum;
+        this.highValue = maximum;
+        setPreferredSize(new Dimension(320, 2 * HANDLE_RADIUS + 8));
+        setCursor(new Cursor(Cursor.HAND_CURSOR));
+        setOpaque(false);
+
+        MouseAdapter dragHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int value = valueAt(e.getX());
+                // Pick the nearer handle; when they overlap, move whichever way the press points
+                if (Math.abs(value - lowValue) < Math.abs(value - highValue)
+                        || (lowValue == highValue && value < lowValue)) {
+                    activeHandle = 0;
+                } else {
+                    activeHandle = 1;
+                }
+                adjusting = true;
+                moveActiveHandle(value);
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (activeHandle >= 0) {
+                    moveActiveHandle(valueAt(e.getX()));
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (activeHandle >= 0) {
+                    activeHandle = -1;
+                    adjusting = false;
+                    fireStateChanged();
+                }
+            }
+        };
+        addMouseListener(dragHandler);
+        addMouseMotionListener(dragHandler);
+    }
+
+    public int getLowValue() {
+        return lowValue;
+    }
+
+    public int getHighValue() {
+        return highValue;
+    }
+
+    public int getMaximum() {
+        return maximum;
+    }
+
+    public boolean getValueIsAdjusting() {
+        return adjusting;
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listenerList.add(ChangeListener.class, listener);
+    }
+
+    private void moveActiveHandle(int value) {
+        if (activeHandle == 0) {
+            value = Math.min(value, highValue);
+            if (value == lowValue) {
+                return;
+            }
+            lowValue = value;
+        } else {
+            value = Math.max(value, lowValue);
+            if (value == highValue) {
+                return;
+            }
+            highValue = value;
+        }
+        repaint();
+        fireStateChanged();
+    }
+
+    private void fireStateChanged() {
+        ChangeEvent event = new ChangeEvent(this);
+        for (ChangeListener listener : listenerList.getListeners(ChangeListener.class)) {
+            listener.stateChanged(event);
+        }
+    }
+
+    private int trackStart() {
+        return HANDLE_RADIUS + 1;
+    }
+
+    private int trackWidth() {
+        return Math.max(1, getWidth() - 2 * (HANDLE_RADIUS + 1));
+    }
+
+    private int valueAt(int x) {
+        int value = Math.round((x - trackStart()) * (float) maximum / trackWidth());
+        return Math.max(0, Math.min(maximum, value));
+    }
+
+    private int xOf(int value) {
+        return trackStart() + Math.round(value * (float) trackWidth() / maximum);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int centerY = getHeight() / 2;
+
+        g2.setColor(TRACK_COLOR);
+        g2.fillRoundRect(trackStart(), centerY - TRACK_HEIGHT / 2, trackWidth(), TRACK_HEIGHT, TRACK_HEIGHT, TRACK_HEIGHT);
+        g2.setColor(RANGE_COLOR);
+        g2.fillRect(xOf(lowValue), centerY - TRACK_HEIGHT / 2, xOf(highValue) - xOf(lowValue), TRACK_HEIGHT);
+
+        for (int value : new int[]{lowValue, highValue}) {
+            int x = xOf(value);
+            g2.setColor(Color.WHITE);
+            g2.fillOval(x - HANDLE_RADIUS, centerY - HANDLE_RADIUS, 2 * HANDLE_RADIUS, 2 * HANDLE_RADIUS);
+            g2.setColor(HANDLE_BORDER);
+            g2.setStroke(new BasicStroke(2));
+            g2.drawOval(x - HANDLE_RADIUS, centerY - HANDLE_RADIUS, 2 * HANDLE_RADIUS, 2 * HANDLE_RADIUS);
+        }
+        g2.dispose();
+    }
+}
@@ -3,23 +3,45 @@ package petadoptionapp;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.awt.geom.RoundRectangle2D;
 import javax.swing.plaf.basic.BasicButtonUI;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
 public class AllPetsPanel extends JPanel {
     // Encapsulation - Private fields with public getters/setters
     private JFrame ownerFrame;
-    private JPanel petsGridPanel;
-    private ArrayList<Pet> fullPetList;
-    private String currentPetTypeFilter = "All";
-    private String currentGenderFilter = "All";
+    // Only the cards on screen exist; they are reused as the grid scrolls
+    private PetCardGrid petGrid;
+    private JPanel noPetsPanel;
+    private JScrollPane scrollPane;
+    private Class<? extends Pet> currentPetTypeFilter;
+    private Gender currentGenderFilter;
+    private String currentBreedFilter;
+    private SpayStatus currentSpayStatusFilter;
+    private JComboBox<FacetOption> typeDropdown;
+    private JComboBox<FacetOption> genderDropdown;
+    private JComboBox<FacetOption> breedDropdown;
+    private JComboBox<FacetOption> spayStatusDropdown;
+    // Set while option counts are rewritten, so the dropdowns' own events are ignored
+    private boolean refreshingFacets;
+    private String currentSearchText = "";
+    private PetSortOrder currentSortOrder = PetSortOrder.CATALOG;
+    private int currentMinAgeMonths = 0;
+    private int currentMaxAgeMonths = AGE_SLIDER_MAX;
+    // Opened when a drag starts, so each slider event is only two binary searches
+    private PetAgeCounter ageCounter;
+    private Timer searchDelayTimer;
 
     private static final Color BACKGROUND_COLOR = Color.decode("#F2F4F8");
     private static final Color CARD_BACKGROUND = Color.WHITE;
@@ -28,14 +50,28 @@ public class AllPetsPanel extends JPanel {
     private static final Color ACCENT_BLUE = Color.decode("#2B4576");
     private static final Color ACCENT_BLUE_HOVER = Color.decode("#4A699A");
     private static final Color TEXT_LIGHT_GREY = Color.decode("#888888");
+    // Pets are read from the cursor a page at a time as the grid nears its end
+    private static final int PAGE_SIZE = 30;
+    // The grid is refreshed once typing pauses for this long
+    private static final int SEARCH_DELAY_MS = 250;
+    // The slider spans 0 to 15 years; its top end means "and older"
+    private static final int AGE_SLIDER_MAX = 15 * 12;
 
     public AllPetsPanel(JFrame ownerFrame) {
         this.ownerFrame = ownerFrame;
         try {
             // Abstraction - Hiding complex data loading implementation
-            this.fullPetList = PetDataManager.loadPets();
+            PetDataManager.loadPets();
+            PetLoadReport loadReport = PetDataManager.getLastLoadReport();
+            if (loadReport.hasLosses()) {
+                JOptionPane.showMessageDialog(ownerFrame,
+                    "Some pet records were damaged and could not be loaded.\n" +
+                    loadReport.getRecoveredCount() + " pets were recovered; " +
+                    loadReport.getLostRecords().size() + " damaged section(s) were moved to pets.quarantine.",
+                    "Data Recovery",
+                    JOptionPane.WARNING_MESSAGE);
+            }
         } catch (Exception e) {
-            this.fullPetList = new ArrayList<>();
             JOptionPane.showMessageDialog(ownerFrame,
                 "Failed to load pet data.",
                 "Data Loading Error",
@@ -57,54 +93,171 @@ public class AllPetsPanel extends JPanel {
         titleLabel.setBorder(new EmptyBorder(20, 50, 20, 50));
         topContainerPanel.add(titleLabel);
 
+        // Each option shows how many pets choosing it would give, e.g. "Dog (14)"
+        JPanel facetPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 25, 10));
+        facetPanel.setBackground(BACKGROUND_COLOR);
+        facetPanel.setBorder(new EmptyBorder(0, 10, 5, 10));
+        facetPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        typeDropdown = createFacetDropdown(facetPanel, "Type:",
+                new FacetOption("All", null), new FacetOption("Cat", Cat.class), new FacetOption("Dog", Dog.class));
+        typeDropdown.addActionListener(e -> {
+            if (!refreshingFacets) {
+                currentPetTypeFilter = petTypeOf((FacetOption) typeDropdown.getSelectedItem());
+                updatePetsDisplay();
+            }
+        });
+
+        genderDropdown = createFacetDropdown(facetPanel, "Gender:",
+                new FacetOption("All", null), new FacetOption("Male", Gender.MALE), new FacetOption("Female", Gender.FEMALE));
+        genderDropdown.addActionListener(e -> {
+            if (!refreshingFacets) {
+                currentGenderFilter = (Gender) ((FacetOption) genderDropdown.getSelectedItem()).value;
+                updatePetsDisplay();
+            }
+        });
+
+        // Breed options come from the catalog and are filled in with their counts
+        breedDropdown = createFacetDropdown(facetPanel, "Breed:", new FacetOption("All", null));
+        breedDropdown.addActionListener(e -> {
+            if (!refreshingFacets) {
+                currentBreedFilter = (String) ((FacetOption) breedDropdown.getSelectedItem()).value;
+                updatePetsDisplay();
+            }
+        });
+
+        FacetOption[] spayStatusOptions = new FacetOption[SpayStatus.values().length + 1];
+        spayStatusOptions[0] = new FacetOption("All", null);
+        for (SpayStatus status : SpayStatus.values()) {
+            spayStatusOptions[status.ordinal() + 1] = new FacetOption(status.getLabel(), status);
+        }
+        spayStatusDropdown = createFacetDropdown(facetPanel, "Spayed/Neutered:", spayStatusOptions);
+        spayStatusDropdown.addActionListener(e -> {
+            if (!refreshingFacets) {
+                currentSpayStatusFilter = (SpayStatus) ((FacetOption) spayStatusDropdown.getSelectedItem()).value;
+                updatePetsDisplay();
+            }
+        });
+        topContainerPanel.add(facetPanel);
+
         JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 25, 10));
         filterPanel.setBackground(BACKGROUND_COLOR);
         filterPanel.setBorder(new EmptyBorder(0, 10, 15, 10));
         filterPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        
-        JLabel typeLabel = new JLabel("Type:");
-        typeLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
-        typeLabel.setForeground(TEXT_COLOR);
-        filterPanel.add(typeLabel);
-
-        String[] petTypes = {"All", "Cat", "Dog"};
-        JComboBox<String> typeDropdown = new JComboBox<>(petTypes);
-        styleDropdown(typeDropdown);
-        typeDropdown.setSelectedItem(currentPetTypeFilter);
-        typeDropdown.addActionListener(e -> {
-            currentPetTypeFilter = (String) typeDropdown.getSelectedItem();
+
+        JLabel searchLabel = new JLabel("Search:");
+        searchLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        searchLabel.setForeground(TEXT_COLOR);
+        filterPanel.add(searchLabel);
+
+        JTextField searchField = new JTextField(18);
+        searchField.setFont(new Font("SansSerif", Font.PLAIN, 15));
+        searchField.setForeground(TEXT_COLOR);
+        searchField.setToolTipText("Search names, breeds and descriptions, e.g. Persian, deaf, Marikina");
+        searchField.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(BORDER_COLOR, 1),
+                new EmptyBorder(6, 7, 6, 7)));
+        searchDelayTimer = new Timer(SEARCH_DELAY_MS, e -> {
+            currentSearchText = searchField.getText();
             updatePetsDisplay();
         });
-        filterPanel.add(typeDropdown);
+        searchDelayTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchDelayTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchDelayTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchDelayTimer.restart();
+            }
+        });
+        // Name suggestions tolerate typos and open the pet's details directly
+        PetNameTypeAhead.attach(searchField, pet -> new PetDetailsDialog(ownerFrame, pet).setVisible(true));
+        filterPanel.add(searchField);
 
         filterPanel.add(Box.createRigidArea(new Dimension(40, 0)));
 
-        JLabel genderLabel = new JLabel("Gender:");
-        genderLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
-        genderLabel.setForeground(TEXT_COLOR);
-        filterPanel.add(genderLabel);
+        JLabel sortLabel = new JLabel("Sort:");
+        sortLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        sortLabel.setForeground(TEXT_COLOR);
+        filterPanel.add(sortLabel);
 
-        String[] genders = {"All", "Male", "Female"};
-        JComboBox<String> genderDropdown = new JComboBox<>(genders);
-        styleDropdown(genderDropdown);
-        genderDropdown.setSelectedItem(currentGenderFilter);
-        genderDropdown.addActionListener(e -> {
-            currentGenderFilter = (String) genderDropdown.getSelectedItem();
+        String[] sortOrders = new String[PetSortOrder.values().length];
+        for (PetSortOrder order : PetSortOrder.values()) {
+            sortOrders[order.ordinal()] = order.getLabel();
+        }
+        JComboBox<String> sortDropdown = new JComboBox<>(sortOrders);
+        styleDropdown(sortDropdown);
+        sortDropdown.setSelectedItem(currentSortOrder.getLabel());
+        sortDropdown.addActionListener(e -> {
+            currentSortOrder = PetSortOrder.fromLabel((String) sortDropdown.getSelectedItem());
             updatePetsDisplay();
         });
-        filterPanel.add(genderDropdown);
+        filterPanel.add(sortDropdown);
 
         topContainerPanel.add(filterPanel);
+
+        JPanel agePanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0));
+        agePanel.setBackground(BACKGROUND_COLOR);
+        agePanel.setBorder(new EmptyBorder(0, 10, 15, 10));
+        agePanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel ageLabel = new JLabel("Age:");
+        ageLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        ageLabel.setForeground(TEXT_COLOR);
+        agePanel.add(ageLabel);
+
+        AgeRangeSlider ageSlider = new AgeRangeSlider(AGE_SLIDER_MAX);
+        JLabel ageRangeLabel = new JLabel(formatAgeRange(0, AGE_SLIDER_MAX));
+        ageRangeLabel.setFont(new Font("SansSerif", Font.PLAIN, 15));
+        ageRangeLabel.setForeground(TEXT_COLOR);
+        JLabel ageCountLabel = new JLabel(" ");
+        ageCountLabel.setFont(new Font("SansSerif", Font.ITALIC, 15));
+        ageCountLabel.setForeground(TEXT_LIGHT_GREY);
+        ageSlider.addChangeListener(e -> {
+            int low = ageSlider.getLowValue();
+            int high = ageSlider.getHighValue();
+            ageRangeLabel.setText(formatAgeRange(low, high));
+            if (ageSlider.getValueIsAdjusting()) {
+                if (ageCounter == null) {
+                    ageCounter = PetDataManager.openAgeCounter(currentQuery(false), currentSearchText);
+                }
+                int count = ageCounter.count(low, high == AGE_SLIDER_MAX ? Integer.MAX_VALUE : high);
+                ageCountLabel.setText(count + (count == 1 ? " pet" : " pets"));
+            } else {
+                currentMinAgeMonths = low;
+                currentMaxAgeMonths = high;
+                ageCountLabel.setText(" ");
+                updatePetsDisplay();
+            }
+        });
+        agePanel.add(ageSlider);
+        agePanel.add(ageRangeLabel);
+        agePanel.add(ageCountLabel);
+        topContainerPanel.add(agePanel);
         add(topContainerPanel, BorderLayout.NORTH);
 
-        petsGridPanel = new JPanel(new GridLayout(0, 3, 25, 25));
-        petsGridPanel.setBackground(BACKGROUND_COLOR);
-        petsGridPanel.setBorder(new EmptyBorder(30, 150, 30, 150));
+        petGrid = new PetCardGrid(PetCard::new);
+        petGrid.setBackground(BACKGROUND_COLOR);
+
+        JLabel noPetsLabel = new JLabel("No pets found matching your criteria.");
+        noPetsLabel.setFont(new Font("SansSerif", Font.ITALIC, 20));
+        noPetsLabel.setForeground(TEXT_LIGHT_GREY);
+        noPetsLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        noPetsPanel = new JPanel(new GridBagLayout());
+        noPetsPanel.setBackground(BACKGROUND_COLOR);
+        noPetsPanel.add(noPetsLabel);
 
-        JScrollPane scrollPane = new JScrollPane(petsGridPanel);
+        scrollPane = new JScrollPane(petGrid);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         scrollPane.setBackground(BACKGROUND_COLOR);
         scrollPane.getViewport().setBackground(BACKGROUND_COLOR);
 
@@ -114,23 +267,54 @@ public class AllPetsPanel extends JPanel {
     }
 
     // Encapsulation - Public methods to access/modify private data
-    public void addPet(Pet pet) {
-        fullPetList.add(pet);
-        PetDataManager.savePets(fullPetList);
+    // The returned future completes once the change is durable on disk
+    public CompletableFuture<Void> addPet(Pet pet) {
+        CompletableFuture<Void> saved = PetDataManager.addPet(pet);
         updatePetsDisplay();
+        return saved;
     }
 
-    public void removePet(Pet pet) {
-        fullPetList.remove(pet);
-        PetDataManager.savePets(fullPetList);
+    public CompletableFuture<Void> removePet(Pet pet) {
+        CompletableFuture<Void> saved = PetDataManager.removePet(pet);
         updatePetsDisplay();
+        return saved;
     }
 
-    public ArrayList<Pet> getFullPetList() {
-        return fullPetList;
+    private JComboBox<FacetOption> createFacetDropdown(JPanel panel, String labelText, FacetOption... options) {
+        JLabel label = new JLabel(labelText);
+        label.setFont(new Font("SansSerif", Font.BOLD, 16));
+        label.setForeground(TEXT_COLOR);
+        panel.add(label);
+
+        JComboBox<FacetOption> dropdown = new JComboBox<>(options);
+        styleDropdown(dropdown);
+        panel.add(dropdown);
+        return dropdown;
     }
 
-    private void styleDropdown(JComboBox<String> dropdown) {
+    // Encapsulation - A dropdown choice and the number of pets it would show; a null value means "All"
+    private static final class FacetOption {
+        private final String label;
+        private final Object value;
+        private int count;
+
+        FacetOption(String label, Object value) {
+            this.label = label;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return label + " (" + count + ")";
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Pet> petTypeOf(FacetOption option) {
+        return (Class<? extends Pet>) option.value;
+    }
+
+    private void styleDropdown(JComboBox<?> dropdown) {
         dropdown.setFont(new Font("SansSerif", Font.PLAIN, 15));
         dropdown.setBackground(Color.WHITE);
         dropdown.setForeground(Color.decode("#333333"));
@@ -153,241 +337,320 @@ public class AllPetsPanel extends JPanel {
         });
     }
 
-    public void updatePetsDisplay() {
-        petsGridPanel.removeAll();
-        boolean petsFound = false;
-
-        for (Pet pet : fullPetList) {
-        	// Polymorphism - Using parent Pet class to handle Cat/Dog objects
-            boolean matchesType = currentPetTypeFilter.equals("All") ||
-                                (currentPetTypeFilter.equals("Cat") && pet instanceof Cat) ||
-                                (currentPetTypeFilter.equals("Dog") && pet instanceof Dog);
-
-            boolean matchesGender = currentGenderFilter.equals("All") ||
-                                  currentGenderFilter.equals(pet.getGender());
-
-            if (matchesType && matchesGender) {
-                petsFound = true;
-                JPanel petCard = new JPanel() {
-                    private float scale = 1.0f;
-                    private Timer scaleTimer;
-                    private final int ANIMATION_STEPS = 5;
-                    private final int ANIMATION_DELAY = 20;
-
-                    {
-                        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
-                        setOpaque(false);
-                        setBorder(new EmptyBorder(15, 15, 15, 15));
-                        setPreferredSize(new Dimension(250, 350));
-                        setMaximumSize(new Dimension(250, 350));
-                        setMinimumSize(new Dimension(250, 350));
-
-                        addMouseListener(new java.awt.event.MouseAdapter() {
-                            @Override
-                            public void mouseEntered(java.awt.event.MouseEvent evt) {
-                                startScaleAnimation(1.05f);
-                            }
-
-                            @Override
-                            public void mouseExited(java.awt.event.MouseEvent evt) {
-                                startScaleAnimation(1.0f);
-                            }
-                        });
-                    }
+    // Polymorphism - Using parent Pet class to handle Cat/Dog objects
+    // Dropdown selections compile to a bitmap query; "All" adds no term
+    private PetIndexQuery currentQuery(boolean includeAge) {
+        return currentFilter(includeAge).toQuery();
+    }
 
-                    private void startScaleAnimation(float targetScale) {
-                        if (scaleTimer != null && scaleTimer.isRunning()) {
-                            scaleTimer.stop();
-                        }
-
-                        float startScale = scale;
-                        float deltaScale = (targetScale - startScale) / ANIMATION_STEPS;
-
-                        scaleTimer = new Timer(ANIMATION_DELAY, new ActionListener() {
-                            int step = 0;
-                            @Override
-                            public void actionPerformed(ActionEvent e) {
-                                step++;
-                                scale = startScale + deltaScale * step;
-                                if (step >= ANIMATION_STEPS) {
-                                    scale = targetScale;
-                                    ((Timer)e.getSource()).stop();
-                                }
-                                repaint();
-                            }
-                        });
-                        scaleTimer.start();
-                    }
+    private PetFilter currentFilter(boolean includeAge) {
+        PetFilter filter = PetFilter.all()
+                .ofType(currentPetTypeFilter)
+                .withGender(currentGenderFilter)
+                .withBreed(currentBreedFilter)
+                .withSpayStatus(currentSpayStatusFilter);
+        if (includeAge && (currentMinAgeMonths > 0 || currentMaxAgeMonths < AGE_SLIDER_MAX)) {
+            filter.withAgeMonths(currentMinAgeMonths,
+                    currentMaxAgeMonths == AGE_SLIDER_MAX ? Integer.MAX_VALUE : currentMaxAgeMonths);
+        }
+        return filter;
+    }
 
-                    @Override
-                    protected void paintComponent(Graphics g) {
-                        Graphics2D g2 = (Graphics2D) g.create();
-                        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    // Rewrites every option's count from one facet pass; the breed list follows the catalog
+    private void refreshFacetCounts() {
+        PetFacetCounts counts = PetDataManager.countFacets(currentFilter(true), currentSearchText);
+        refreshingFacets = true;
+        try {
+            for (int i = 0; i < typeDropdown.getItemCount(); i++) {
+                FacetOption option = typeDropdown.getItemAt(i);
+                option.count = counts.typeCount(petTypeOf(option));
+            }
+            for (int i = 0; i < genderDropdown.getItemCount(); i++) {
+                FacetOption option = genderDropdown.getItemAt(i);
+                option.count = counts.genderCount((Gender) option.value);
+            }
+            for (int i = 0; i < spayStatusDropdown.getItemCount(); i++) {
+                FacetOption option = spayStatusDropdown.getItemAt(i);
+                option.count = counts.spayStatusCount((SpayStatus) option.value);
+            }
 
-                        int cx = getWidth() / 2;
-                        int cy = getHeight() / 2;
-                        g2.translate(cx, cy);
-                        g2.scale(scale, scale);
-                        g2.translate(-cx, -cy);
+            FacetOption allBreeds = new FacetOption("All", null);
+            allBreeds.count = counts.allBreedsCount();
+            breedDropdown.removeAllItems();
+            breedDropdown.addItem(allBreeds);
+            Map<String, Integer> breedCounts = new TreeMap<>(counts.breedCounts());
+            // Keep the chosen breed listed even when other filters leave it with no pets
+            if (currentBreedFilter != null) {
+                breedCounts.putIfAbsent(currentBreedFilter, 0);
+            }
+            for (Map.Entry<String, Integer> entry : breedCounts.entrySet()) {
+                FacetOption option = new FacetOption(entry.getKey(), entry.getKey());
+                option.count = entry.getValue();
+                breedDropdown.addItem(option);
+                if (entry.getKey().equals(currentBreedFilter)) {
+                    breedDropdown.setSelectedItem(option);
+                }
+            }
+        } finally {
+            refreshingFacets = false;
+        }
+        typeDropdown.repaint();
+        genderDropdown.repaint();
+        spayStatusDropdown.repaint();
+    }
 
-                        int arc = 15;
-                        int width = getWidth();
-                        int height = getHeight();
+    // e.g. "2 mos - 1 yr 6 mos"; the top of the slider reads as "15+ yrs"
+    private static String formatAgeRange(int minAgeMonths, int maxAgeMonths) {
+        String high = maxAgeMonths == AGE_SLIDER_MAX ? (AGE_SLIDER_MAX / 12) + "+ yrs" : formatAge(maxAgeMonths);
+        return formatAge(minAgeMonths) + " - " + high;
+    }
 
-                        g2.setColor(new Color(0, 0, 0, 15));
-                        g2.fill(new RoundRectangle2D.Double(2, 2, width - 2, height - 2, arc, arc));
+    private static String formatAge(int ageMonths) {
+        int years = ageMonths / 12;
+        int months = ageMonths % 12;
+        String monthText = months + (months == 1 ? " mo" : " mos");
+        if (years == 0) {
+            return monthText;
+        }
+        String yearText = years + (years == 1 ? " yr" : " yrs");
+        return months == 0 ? yearText : yearText + " " + monthText;
+    }
 
-                        g2.setColor(CARD_BACKGROUND);
-                        g2.fillRoundRect(0, 0, width, height, arc, arc);
+    public void updatePetsDisplay() {
+        // Filters or the catalog may have changed, so the next drag recounts from scratch
+        ageCounter = null;
+        refreshFacetCounts();
+        petGrid.showPets(PetDataManager.openCursor(PetQuery.from(currentFilter(true))
+                .matching(currentSearchText)
+                .sortedBy(currentSortOrder), PAGE_SIZE));
+        scrollPane.setViewportView(petGrid.isEmpty() ? noPetsPanel : petGrid);
+    }
 
-                        super.paintComponent(g2);
-                        g2.dispose();
-                    }
+    /*
+     * Inheritance - One grid card; PetCardGrid reuses it for whichever pet
+     * scrolls into its cell, so showPet replaces everything pet-specific.
+     */
+    private class PetCard extends PetCardGrid.Card {
+        private static final int ANIMATION_STEPS = 5;
+        private static final int ANIMATION_DELAY = 20;
+
+        private final JLabel petImageLabel = new JLabel();
+        private final JLabel petNameLabel = new JLabel();
+        private final JButton aboutMeButton = new JButton("ABOUT ME");
+        private Pet pet;
+        private float scale = 1.0f;
+        private Timer scaleTimer;
+        private PetImageLoader.Request imageRequest;
+
+        PetCard() {
+            setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+            setOpaque(false);
+            setBorder(new EmptyBorder(15, 15, 15, 15));
+            setPreferredSize(new Dimension(250, 350));
+            setMaximumSize(new Dimension(250, 350));
+            setMinimumSize(new Dimension(250, 350));
+
+            addMouseListener(new java.awt.event.MouseAdapter() {
+                @Override
+                public void mouseEntered(java.awt.event.MouseEvent evt) {
+                    startScaleAnimation(1.05f);
+                }
 
-                    @Override
-                    protected void paintBorder(Graphics g) {
-                        Graphics2D g2 = (Graphics2D) g.create();
-                        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                        int cx = getWidth() / 2;
-                        int cy = getHeight() / 2;
-                        g2.translate(cx, cy);
-                        g2.scale(scale, scale);
-                        g2.translate(-cx, -cy);
-
-                        int arc = 15;
-                        int width = getWidth();
-                        int height = getHeight();
-
-                        g2.setColor(BORDER_COLOR);
-                        g2.setStroke(new BasicStroke(1));
-                        g2.drawRoundRect(0, 0, width - 1, height - 1, arc, arc);
-                        g2.dispose();
-                    }
-                };
-
-                JLabel petImageLabel = new JLabel();
-                petImageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-                try {
-                    URL imageUrl = getClass().getResource(pet.getImagePath());
-                    if (imageUrl != null) {
-                        ImageIcon originalIcon = new ImageIcon(imageUrl);
-                        Image scaledImage = originalIcon.getImage().getScaledInstance(250, 250, Image.SCALE_SMOOTH);
-                        petImageLabel.setIcon(new ImageIcon(scaledImage));
-                    } else {
-                        petImageLabel.setText("Image N/A");
-                        petImageLabel.setPreferredSize(new Dimension(250, 250));
-                        petImageLabel.setBorder(BorderFactory.createLineBorder(BORDER_COLOR));
-                        petImageLabel.setHorizontalAlignment(SwingConstants.CENTER);
-                        petImageLabel.setVerticalAlignment(SwingConstants.CENTER);
-                    }
-                } catch (Exception e) {
-                    petImageLabel.setText("Image Error");
-                    petImageLabel.setPreferredSize(new Dimension(250, 250));
-                    petImageLabel.setBorder(BorderFactory.createLineBorder(BORDER_COLOR));
-                    petImageLabel.setHorizontalAlignment(SwingConstants.CENTER);
-                    petImageLabel.setVerticalAlignment(SwingConstants.CENTER);
+                @Override
+                public void mouseExited(java.awt.event.MouseEvent evt) {
+                    startScaleAnimation(1.0f);
+                }
+            });
+
+            petImageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            petImageLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            petImageLabel.setVerticalAlignment(SwingConstants.CENTER);
+
+            petNameLabel.setFont(new Font("SansSerif", Font.BOLD, 18));
+            petNameLabel.setForeground(TEXT_COLOR);
+            petNameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            petNameLabel.setBorder(new EmptyBorder(5, 0, 10, 0));
+
+            aboutMeButton.setFont(new Font("SansSerif", Font.BOLD, 14));
+            aboutMeButton.setForeground(ACCENT_BLUE);
+            aboutMeButton.setBackground(CARD_BACKGROUND);
+            aboutMeButton.setFocusPainted(false);
+            aboutMeButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
+            aboutMeButton.setBorder(BorderFactory.createLineBorder(BORDER_COLOR, 1));
+            aboutMeButton.setPreferredSize(new Dimension(120, 40));
+            aboutMeButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+            aboutMeButton.setUI(new BasicButtonUI() {
+                @Override
+                public void paint(Graphics g, JComponent c) {
+                    Graphics2D g2 = (Graphics2D) g.create();
+                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                    JButton btn = (JButton) c;
+                    int width = btn.getWidth();
+                    int height = btn.getHeight();
+                    int arc = 10;
+
+                    g2.setColor(btn.getBackground());
+                    g2.fillRoundRect(0, 0, width, height, arc, arc);
+
+                    g2.setColor(BORDER_COLOR);
+                    g2.drawRoundRect(0, 0, width - 1, height - 1, arc, arc);
+
+                    super.paint(g2, c);
+                    g2.dispose();
                 }
+            });
 
-                petImageLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
-
-                JLabel petNameLabel = new JLabel(pet.getName());
-                petNameLabel.setFont(new Font("SansSerif", Font.BOLD, 18));
-                petNameLabel.setForeground(TEXT_COLOR);
-                petNameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-                petNameLabel.setBorder(new EmptyBorder(5, 0, 10, 0));
-
-                JButton aboutMeButton = new JButton("ABOUT ME");
-                aboutMeButton.setFont(new Font("SansSerif", Font.BOLD, 14));
-                aboutMeButton.setForeground(ACCENT_BLUE);
-                aboutMeButton.setBackground(CARD_BACKGROUND);
-                aboutMeButton.setFocusPainted(false);
-                aboutMeButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
-                aboutMeButton.setBorder(BorderFactory.createLineBorder(BORDER_COLOR, 1));
-                aboutMeButton.setPreferredSize(new Dimension(120, 40));
-                aboutMeButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-                aboutMeButton.setUI(new BasicButtonUI() {
-                    @Override
-                    public void paint(Graphics g, JComponent c) {
-                        Graphics2D g2 = (Graphics2D) g.create();
-                        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                        JButton btn = (JButton) c;
-                        int width = btn.getWidth();
-                        int height = btn.getHeight();
-                        int arc = 10;
-
-                        g2.setColor(btn.getBackground());
-                        g2.fillRoundRect(0, 0, width, height, arc, arc);
-
-                        g2.setColor(BORDER_COLOR);
-                        g2.drawRoundRect(0, 0, width - 1, height - 1, arc, arc);
-
-                        super.paint(g2, c);
-                        g2.dispose();
-                    }
-                });
+            aboutMeButton.addMouseListener(new java.awt.event.MouseAdapter() {
+                public void mouseEntered(java.awt.event.MouseEvent evt) {
+                    aboutMeButton.setBackground(Color.decode("#F0F0F0"));
+                }
 
-                aboutMeButton.addMouseListener(new java.awt.event.MouseAdapter() {
-                    public void mouseEntered(java.awt.event.MouseEvent evt) {
-                        aboutMeButton.setBackground(Color.decode("#F0F0F0"));
-                    }
+                public void mouseExited(java.awt.event.MouseEvent evt) {
+                    aboutMeButton.setBackground(CARD_BACKGROUND);
+                }
+            });
 
-                    public void mouseExited(java.awt.event.MouseEvent evt) {
-                        aboutMeButton.setBackground(CARD_BACKGROUND);
-                    }
-                });
+            aboutMeButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    PetDetailsDialog petDetailsDialog = new PetDetailsDialog(ownerFrame, pet);
+                    petDetailsDialog.setVisible(true);
+                }
+            });
 
-                aboutMeButton.addActionListener(new ActionListener() {
-                    @Override
-                    public void actionPerformed(ActionEvent e) {
-                        PetDetailsDialog petDetailsDialog = new PetDetailsDialog(ownerFrame, pet);
-                        petDetailsDialog.setVisible(true);
-                    }
-                });
+            add(petImageLabel);
+            add(petNameLabel);
+            add(aboutMeButton);
+        }
 
-                petCard.add(petImageLabel);
-                petCard.add(petNameLabel);
-                petCard.add(aboutMeButton);
-                
-                petsGridPanel.add(petCard);
+        @Override
+        void showPet(Pet pet) {
+            this.pet = pet;
+            // A recycled card may still be mid-hover from its previous cell
+            if (scaleTimer != null) {
+                scaleTimer.stop();
             }
+            scale = 1.0f;
+            aboutMeButton.setBackground(CARD_BACKGROUND);
+            petNameLabel.setText(pet.getName());
+            showImage();
         }
-        
-        if (!petsFound) {
-            petsGridPanel.removeAll(); 
-            JLabel noPetsLabel = new JLabel("No pets found matching your criteria.");
-            noPetsLabel.setFont(new Font("SansSerif", Font.ITALIC, 20));
-            noPetsLabel.setForeground(TEXT_LIGHT_GREY);
-            noPetsLabel.setHorizontalAlignment(SwingConstants.CENTER);
-            
-            JPanel messagePanel = new JPanel(new GridBagLayout());
-            messagePanel.setBackground(BACKGROUND_COLOR);
-            GridBagConstraints msgGbc = new GridBagConstraints();
-            msgGbc.gridx = 0;
-            msgGbc.gridy = 0;
-            msgGbc.gridwidth = 3;
-            msgGbc.weightx = 1.0;
-            msgGbc.weighty = 1.0;
-            msgGbc.anchor = GridBagConstraints.CENTER;
-            messagePanel.add(noPetsLabel, msgGbc);
-            
-            petsGridPanel.setLayout(new BorderLayout());
-            petsGridPanel.add(messagePanel, BorderLayout.CENTER);
-        } else {
-            if (!(petsGridPanel.getLayout() instanceof GridLayout)) {
-                 petsGridPanel.setLayout(new GridLayout(0, 3, 25, 25));
+
+        @Override
+        void release() {
+            if (imageRequest != null) {
+                imageRequest.cancel();
+                imageRequest = null;
             }
         }
 
-        petsGridPanel.revalidate();
-        petsGridPanel.repaint();
+        // Shows a placeholder at once, then a coarse preview, then the photo decoded off the EDT
+        private void showImage() {
+            release();
+            petImageLabel.setText(null);
+            petImageLabel.setPreferredSize(null);
+            try {
+                URL imageUrl = getClass().getResource(pet.getImagePath());
+                if (imageUrl != null) {
+                    petImageLabel.setIcon(PetImageLoader.placeholder(250, 250));
+                    petImageLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
+                    imageRequest = PetImageLoader.load(imageUrl, 250, 250, petImageLabel::setIcon,
+                            petImageLabel::setIcon, () -> showImagePlaceholder("Image Error"));
+                } else {
+                    showImagePlaceholder("Image N/A");
+                }
+            } catch (Exception e) {
+                showImagePlaceholder("Image Error");
+            }
+        }
+
+        private void showImagePlaceholder(String text) {
+            petImageLabel.setIcon(null);
+            petImageLabel.setText(text);
+            petImageLabel.setPreferredSize(new Dimension(250, 250));
+            petImageLabel.setBorder(BorderFactory.createLineBorder(BORDER_COLOR));
+        }
+
+        private void startScaleAnimation(float targetScale) {
+            if (scaleTimer != null && scaleTimer.isRunning()) {
+                scaleTimer.stop();
+            }
+
+            float startScale = scale;
+            float deltaScale = (targetScale - startScale) / ANIMATION_STEPS;
+
+            scaleTimer = new Timer(ANIMATION_DELAY, new ActionListener() {
+                int step = 0;
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    step++;
+                    scale = startScale + deltaScale * step;
+                    if (step >= ANIMATION_STEPS) {
+                        scale = targetScale;
+                        ((Timer)e.getSource()).stop();
+                    }
+                    repaint();
+                }
+            });
+            scaleTimer.start();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            int cx = getWidth() / 2;
+            int cy = getHeight() / 2;
+            g2.translate(cx, cy);
+            g2.scale(scale, scale);
+            g2.translate(-cx, -cy);
+
+            int arc = 15;
+            int width = getWidth();
+            int height = getHeight();
+
+            g2.setColor(new Color(0, 0, 0, 15));
+            g2.fill(new RoundRectangle2D.Double(2, 2, width - 2, height - 2, arc, arc));
+
+            g2.setColor(CARD_BACKGROUND);
+            g2.fillRoundRect(0, 0, width, height, arc, arc);
+
+            super.paintComponent(g2);
+            g2.dispose();
+        }
+
+        @Override
+        protected void paintBorder(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            int cx = getWidth() / 2;
+            int cy = getHeight() / 2;
+            g2.translate(cx, cy);
+            g2.scale(scale, scale);
+            g2.translate(-cx, -cy);
+
+            int arc = 15;
+            int width = getWidth();
+            int height = getHeight();
+
+            g2.setColor(BORDER_COLOR);
+            g2.setStroke(new BasicStroke(1));
+            g2.drawRoundRect(0, 0, width - 1, height - 1, arc, arc);
+            g2.dispose();
+        }
     }
 
-    public void savePetsToFile() {
+    public CompletableFuture<Void> savePetsToFile() {
+        return PetDataManager.savePets();
     }
 
-    public void update(Pet currentEditingPet) {
+    public CompletableFuture<Void> update(Pet currentEditingPet) {
+        CompletableFuture<Void> saved = PetDataManager.updatePet(currentEditingPet);
+        updatePetsDisplay();
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package petadoptionapp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Encapsulation - Intern table that maps repeated attribute values to small int codes.
+ *
+ * Every pet refers to a value by its code, so a breed or image path shared by
+ * thousands of pets is held in memory once. Codes are handed out in first-seen
+ * order and never reused within a session; they are not written to disk.
+ */
+final class AttributeDictionary<T> {
+    static final int NO_VALUE = -1;
+
+    // Shared tables for string attributes and for whole vaccination sets
+    static final AttributeDictionary<String> STRINGS = new AttributeDictionary<>();
+    static final AttributeDictionary<Set<String>> VACCINATIONS = new AttributeDictionary<>();
+
+    private final ConcurrentHashMap<T, Integer> codes = new ConcurrentHashMap<>();
+    private volatile Object[] values = new Object[64];
+    private int size;
+
+    private AttributeDictionary() {
+    }
+
+    // Returns the existing code for an equal value, or assigns the next one
+    public int encode(T value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            Object[] table = values;
+            if (size == table.length) {
+                table = Arrays.copyOf(table, size * 2);
+            }
+            table[size] = value;
+            values = table;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    // Code of an equal value already in the table, or NO_VALUE; never adds an entry
+    public int find(T value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NO_VALUE : code;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T decode(int code) {
+        return code == NO_VALUE ? null : (T) values[code];
+    }
+
+    // Number of distinct values seen so far
+    public synchronized int size() {
+        return size;
+    }
+
+    // Vaccination sets are interned as immutable copies so pets can share them safely
+    static int encodeVaccinations(Set<String> vaccinations) {
+        if (vaccinations == null || vaccinations.isEmpty()) {
+            return VACCINATIONS.encode(Collections.emptySet());
+        }
+        Integer code = VACCINATIONS.codes.get(vaccinations);
+        if (code != null) {
+            return code;
+        }
+        LinkedHashSet<String> copy = new LinkedHashSet<>();
+        for (String vaccination : vaccinations) {
+            copy.add(STRINGS.decode(STRINGS.encode(vaccination)));
+        }
+        return VACCINATIONS.encode(Collections.unmodifiableSet(copy));
+    }
+}
@@ -0,0 +1,129 @@
+package petadoptionapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Abstraction - Heap retained by pet attributes with and without AttributeDictionary.
+ *
+ * Run from the project folder, ideally with a fixed heap and one collector:
+ *   java -XX:+UseSerialGC -Xmx1g -cp <classes> petadoptionapp.AttributeFootprintReport [pet count]   (default 100000)
+ *
+ * Pets loaded from disk get their own String and Set instances for every
+ * field, even when thousands of pets share a breed. This builds the image
+ * path, color, breed, health status and vaccinations of generated pets
+ * two ways: as those per-pet copies, the way Pet held them before the
+ * dictionary, and as dictionary codes. It then builds whole pets decoded
+ * from PetRecordCodec records. Each figure is the used heap after a full
+ * collection, minus the used heap before the objects were built.
+ */
+final class AttributeFootprintReport {
+    private static final int DEFAULT_COUNT = 100_000;
+
+    // Holds what is being measured, so nothing can be collected before the heap is read
+    private static Object[] measured;
+
+    private AttributeFootprintReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length == 0 ? DEFAULT_COUNT : Integer.parseInt(args[0]);
+        List<Pet> templates = PetDataManager.getDefaultPets();
+
+        System.out.printf("%-34s %14s %10s%n", "layout (" + count + " pets)", "retained bytes", "bytes/pet");
+        long before = usedHeap();
+        CopiedAttributes[] copied = new CopiedAttributes[count];
+        for (int i = 0; i < count; i++) {
+            copied[i] = new CopiedAttributes(templates.get(i % templates.size()));
+        }
+        measured = copied;
+        print("attributes, per-pet copies", usedHeap() - before, count);
+        measured = null;
+        copied = null;
+
+        before = usedHeap();
+        InternedAttributes[] interned = new InternedAttributes[count];
+        for (int i = 0; i < count; i++) {
+            interned[i] = new InternedAttributes(templates.get(i % templates.size()));
+        }
+        measured = interned;
+        print("attributes, dictionary codes", usedHeap() - before, count);
+        measured = null;
+        interned = null;
+
+        List<byte[]> records = new ArrayList<>(templates.size());
+        for (Pet template : templates) {
+            records.add(PetRecordCodec.encode(template));
+        }
+        before = usedHeap();
+        Pet[] pets = new Pet[count];
+        for (int i = 0; i < count; i++) {
+            pets[i] = PetRecordCodec.decode(ByteBuffer.wrap(records.get(i % records.size())));
+        }
+        measured = pets;
+        print("whole pets, decoded from records", usedHeap() - before, count);
+        measured = null;
+
+        System.out.println();
+        System.out.println("Dictionary: " + AttributeDictionary.STRINGS.size() + " strings, "
+                + AttributeDictionary.VACCINATIONS.size() + " vaccination sets");
+    }
+
+    // Encapsulation - The five interned fields as the pre-dictionary Pet held them, each pet with its own copies
+    private static final class CopiedAttributes {
+        private final String imagePath;
+        private final String color;
+        private final String breed;
+        private final String healthStatus;
+        private final Set<String> vaccinations;
+
+        CopiedAttributes(Pet template) {
+            imagePath = copy(template.getImagePath());
+            color = copy(template.getColor());
+            breed = copy(template.getBreed());
+            healthStatus = copy(template.getHealthStatus());
+            vaccinations = new LinkedHashSet<>();
+            for (String vaccination : template.getVaccinations()) {
+                vaccinations.add(copy(vaccination));
+            }
+        }
+    }
+
+    // Encapsulation - The same five fields as codes; equal values are looked up from fresh copies, as a load would
+    private static final class InternedAttributes {
+        private final int imagePathCode;
+        private final int colorCode;
+        private final int breedCode;
+        private final int healthStatusCode;
+        private final int vaccinationsCode;
+
+        InternedAttributes(Pet template) {
+            imagePathCode = AttributeDictionary.STRINGS.encode(copy(template.getImagePath()));
+            colorCode = AttributeDictionary.STRINGS.encode(copy(template.getColor()));
+            breedCode = AttributeDictionary.STRINGS.encode(copy(template.getBreed()));
+            healthStatusCode = AttributeDictionary.STRINGS.encode(copy(template.getHealthStatus()));
+            vaccinationsCode = AttributeDictionary.encodeVaccinations(new LinkedHashSet<>(template.getVaccinations()));
+        }
+    }
+
+    // A distinct String with the same characters, as reading it from a file produces
+    private static String copy(String value) {
+        return value == null ? null : new String(value.toCharArray());
+    }
+
+    private static void print(String layout, long bytes, int count) {
+        System.out.printf("%-34s %14d %10.1f%n", layout, bytes, (double) bytes / count);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
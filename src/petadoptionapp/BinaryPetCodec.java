@@ -0,0 +1,61 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Encapsulation - Compact DataOutputStream format: a count followed by length-prefixed PetRecordCodec records
+public class BinaryPetCodec implements PetCodec {
+    private static final int MAGIC = 0x50455442; // "PETB"
+
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "bin";
+    }
+
+    @Override
+    public void write(List<Pet> pets, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(pets.size());
+        for (Pet pet : pets) {
+            byte[] record = PetRecordCodec.encode(pet);
+            data.writeInt(record.length);
+            data.write(record);
+        }
+        data.flush();
+    }
+
+    @Override
+    public ArrayList<Pet> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a binary pet file");
+        }
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid pet count " + count);
+        }
+        // A damaged count must not allocate before the records prove it
+        ArrayList<Pet> pets = new ArrayList<>(Math.min(count, 1024));
+        byte[] record = new byte[256];
+        for (int i = 0; i < count; i++) {
+            int length = data.readInt();
+            if (length < 0) {
+                throw new IOException("Invalid record length " + length);
+            }
+            if (length > record.length) {
+                record = new byte[length];
+            }
+            data.readFully(record, 0, length);
+            pets.add(PetRecordCodec.decode(ByteBuffer.wrap(record, 0, length)));
+        }
+        return pets;
+    }
+}
@@ -16,6 +16,11 @@ public class Cat extends Pet implements Serializable {
         super(name, age, months, description, imagePath, gender);
     }
 
+    // Polymorphism - Constructor overloading (typed attributes are set afterwards)
+    public Cat(String name, int age, int months, Gender gender, String imagePath) {
+        super(name, age, months, gender, imagePath);
+    }
+
     // Polymorphism - Method overriding
     @Override
     public void displayDetails() {
@@ -0,0 +1,191 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Encapsulation - Default repository: binary catalog snapshot plus an append-only change log
+public class CatalogPetRepository implements PetRepository {
+    private static final String LEGACY_FILE_NAME = "pets.dat";
+    private static final String CATALOG_FILE_NAME = "pets.catalog";
+    private static final String LOG_FILE_NAME = "pets.log";
+    private static final String QUARANTINE_FILE_NAME = "pets.quarantine";
+    // Number of logged edits after which the log is folded into a fresh snapshot
+    private static final int SNAPSHOT_THRESHOLD = 100;
+
+    private final PetChangeLog changeLog;
+    private final PetPersistenceService persistence;
+    private int loggedSinceSnapshot;
+    private PetLoadReport lastLoadReport = new PetLoadReport();
+
+    public CatalogPetRepository() {
+        this.changeLog = new PetChangeLog(LOG_FILE_NAME);
+        this.persistence = new PetPersistenceService(new File(CATALOG_FILE_NAME), changeLog);
+    }
+
+    /*
+     * Abstraction - Binary catalog plus change log, written by a background thread.
+     *
+     * The whole catalog is read and every record decoded: PetDataManager
+     * builds its column store and indexes from the full list, so startup
+     * time grows with the catalog size.
+     */
+    @Override
+    public ArrayList<Pet> loadPets() {
+        PetLoadReport report = new PetLoadReport();
+        ArrayList<Pet> pets;
+        File catalogFile = new File(CATALOG_FILE_NAME);
+        File legacyFile = new File(LEGACY_FILE_NAME);
+        try {
+            if (!catalogFile.exists()) {
+                migrateLegacyFile(legacyFile, report);
+            }
+            try {
+                PetCatalogFile catalog = PetCatalogFile.open(catalogFile);
+                pets = catalog.readAll(report);
+                persistence.setSnapshotEpoch(catalog.getEpoch());
+                // Positional edits would land on the wrong pets once records are missing
+                loggedSinceSnapshot = changeLog.replay(pets, persistence.getSnapshotEpoch(), report, !report.hasLosses());
+            } catch (IOException e) {
+                // Header or offset table is damaged: keep the whole file, then salvage every record whose checksum still holds
+                report.recordLoss(catalogFile.getName(), 0, "catalog header unreadable (" + e.getMessage() + ")",
+                        readRawBytes(catalogFile));
+                pets = PetCatalogFile.recover(catalogFile, report);
+                changeLog.quarantine(report);
+            }
+            if (report.hasLosses() || changeLog.isLegacyFormat()) {
+                // Keep the damaged bytes, then rewrite a clean catalog so the damage is reported only once
+                report.writeQuarantine(new File(QUARANTINE_FILE_NAME));
+                savePets(pets);
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            // Nothing could be read. The file stays as it is and a copy goes to the quarantine;
+            // starting from the default pets here would overwrite the user's data on the next save.
+            File unreadable = catalogFile.exists() ? catalogFile : legacyFile;
+            report.recordLoss(unreadable.getName(), 0, "file unreadable (" + e.getMessage() + ")", readRawBytes(unreadable));
+            changeLog.quarantine(report);
+            report.writeQuarantine(new File(QUARANTINE_FILE_NAME));
+            pets = new ArrayList<>();
+            if (unreadable == legacyFile) {
+                // An empty catalog retires the legacy file and the log, so the next start neither
+                // reads and quarantines them again nor replays later edits onto nothing
+                try {
+                    savePets(pets).join();
+                } catch (CompletionException saveError) {
+                    System.err.println("Error writing empty pet catalog: " + saveError.getCause().getMessage());
+                }
+            }
+        }
+        report.setRecoveredCount(pets.size());
+        lastLoadReport = report;
+        return pets;
+    }
+
+    /*
+     * The pets this repository would load, for seeding another storage
+     * format. Unlike loadPets it starts no writer and changes no file, so
+     * it can run while PetDataManager holds a CatalogPetRepository.
+     */
+    static ArrayList<Pet> readStoredPets() {
+        PetLoadReport report = new PetLoadReport();
+        PetChangeLog changeLog = new PetChangeLog(LOG_FILE_NAME);
+        File catalogFile = new File(CATALOG_FILE_NAME);
+        File legacyFile = new File(LEGACY_FILE_NAME);
+        try {
+            if (catalogFile.exists()) {
+                PetCatalogFile catalog = PetCatalogFile.open(catalogFile);
+                ArrayList<Pet> pets = catalog.readAll(report);
+                changeLog.replay(pets, catalog.getEpoch(), report, !report.hasLosses());
+                return pets;
+            }
+            if (legacyFile.exists()) {
+                try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(legacyFile)))) {
+                    @SuppressWarnings("unchecked")
+                    ArrayList<Pet> pets = (ArrayList<Pet>) ois.readObject();
+                    changeLog.replay(pets, readEpoch(ois), report);
+                    return pets;
+                }
+            }
+            return PetDataManager.getDefaultPets();
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Error reading pet catalog: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public PetLoadReport getLastLoadReport() {
+        return lastLoadReport;
+    }
+
+    // Encapsulation - One-time conversion of the old ObjectOutputStream file into the binary catalog
+    @SuppressWarnings("unchecked")
+    private void migrateLegacyFile(File legacyFile, PetLoadReport report) throws IOException, ClassNotFoundException {
+        ArrayList<Pet> pets;
+        if (legacyFile.exists()) {
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(legacyFile)))) {
+                pets = (ArrayList<Pet>) ois.readObject();
+                persistence.setSnapshotEpoch(readEpoch(ois));
+            }
+            changeLog.replay(pets, persistence.getSnapshotEpoch(), report);
+        } else {
+            pets = PetDataManager.getDefaultPets();
+        }
+        try {
+            savePets(pets).join();
+        } catch (CompletionException e) {
+            throw new IOException("Could not write pet catalog", e.getCause());
+        }
+    }
+
+    // Encapsulation - Queues a single edit for the background writer instead of rewriting the whole file
+    @Override
+    public CompletableFuture<Void> recordAdd(ArrayList<Pet> pets, Pet pet) {
+        return appendToLog(pets, PetChangeLog.OP_ADD, pet.getId(), pet);
+    }
+
+    @Override
+    public CompletableFuture<Void> recordUpdate(ArrayList<Pet> pets, Pet pet) {
+        return appendToLog(pets, PetChangeLog.OP_UPDATE, pet.getId(), pet);
+    }
+
+    @Override
+    public CompletableFuture<Void> recordRemove(ArrayList<Pet> pets, Pet pet) {
+        return appendToLog(pets, PetChangeLog.OP_REMOVE, pet.getId(), null);
+    }
+
+    private CompletableFuture<Void> appendToLog(ArrayList<Pet> pets, byte op, long petId, Pet pet) {
+        CompletableFuture<Void> saved = persistence.append(PetChangeLog.encodeRecord(op, petId, pet));
+        if (++loggedSinceSnapshot >= SNAPSHOT_THRESHOLD) {
+            saved = savePets(pets);
+        }
+        return saved;
+    }
+
+    // Encapsulation - Queues a full snapshot, which also starts a new, empty change log
+    @Override
+    public CompletableFuture<Void> savePets(ArrayList<Pet> pets) {
+        loggedSinceSnapshot = 0;
+        return persistence.snapshot(pets);
+    }
+
+    // The whole file, so a load that cannot use it still keeps a copy in the quarantine
+    private static byte[] readRawBytes(File file) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    // Legacy files written before the change log existed carry no epoch
+    private static long readEpoch(ObjectInputStream ois) {
+        try {
+            return ois.readLong();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Encapsulation - Whole-file repository for any PetCodec; bursts of edits collapse into one rewrite
+public class CodecPetRepository implements PetRepository {
+    private static final String QUARANTINE_FILE_NAME = "pets.quarantine";
+
+    private final PetCodec codec;
+    private final File file;
+    private final ExecutorService writer;
+    private PetLoadReport lastLoadReport = new PetLoadReport();
+
+    // Guarded by this - the newest unsaved copy and the future every caller since the last write shares
+    private List<Pet> pendingSnapshot;
+    private CompletableFuture<Void> pendingSave;
+
+    public CodecPetRepository(PetCodec codec, File file) {
+        this.codec = codec;
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pet-persistence-" + codec.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "pet-persistence-shutdown"));
+    }
+
+    public PetCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public ArrayList<Pet> loadPets() {
+        PetLoadReport report = new PetLoadReport();
+        ArrayList<Pet> pets;
+        if (file.exists()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                pets = codec.read(in);
+            } catch (IOException | RuntimeException e) {
+                // Whole-file formats cannot be partially recovered. The file is left as it is with a copy
+                // in the quarantine; loading the default pets here would overwrite it on the next save.
+                report.recordLoss(file.getName(), 0, codec.getName() + " file unreadable (" + e.getMessage() + ")", readQuietly(file));
+                report.writeQuarantine(new File(QUARANTINE_FILE_NAME));
+                pets = new ArrayList<>();
+            }
+        } else {
+            // First use of this codec: start from whatever the default catalog holds, read without opening it for writing
+            pets = CatalogPetRepository.readStoredPets();
+            savePets(pets);
+        }
+        report.setRecoveredCount(pets.size());
+        lastLoadReport = report;
+        return pets;
+    }
+
+    @Override
+    public PetLoadReport getLastLoadReport() {
+        return lastLoadReport;
+    }
+
+    @Override
+    public CompletableFuture<Void> recordAdd(ArrayList<Pet> pets, Pet pet) {
+        return savePets(pets);
+    }
+
+    @Override
+    public CompletableFuture<Void> recordUpdate(ArrayList<Pet> pets, Pet pet) {
+        return savePets(pets);
+    }
+
+    @Override
+    public CompletableFuture<Void> recordRemove(ArrayList<Pet> pets, Pet pet) {
+        return savePets(pets);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> savePets(ArrayList<Pet> pets) {
+        pendingSnapshot = new ArrayList<>(pets);
+        if (pendingSave == null) {
+            CompletableFuture<Void> save = new CompletableFuture<>();
+            pendingSave = save;
+            writer.execute(() -> flush(save));
+        }
+        return pendingSave;
+    }
+
+    private void flush(CompletableFuture<Void> save) {
+        List<Pet> snapshot;
+        synchronized (this) {
+            snapshot = pendingSnapshot;
+            pendingSnapshot = null;
+            pendingSave = null;
+        }
+        try {
+            write(snapshot);
+            save.complete(null);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error saving pets: " + e.getMessage());
+            save.completeExceptionally(e);
+        }
+    }
+
+    // Temp file + fsync + atomic rename
+    private void write(List<Pet> pets) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tempFile)) {
+            BufferedOutputStream out = new BufferedOutputStream(fos);
+            codec.write(pets, out);
+            out.flush();
+            fos.getFD().sync();
+        }
+        Files.move(tempFile.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] readQuietly(File file) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+}
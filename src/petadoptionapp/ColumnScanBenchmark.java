@@ -0,0 +1,100 @@
+package petadoptionapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/*
+ * Abstraction - Times each way PetColumnStore can answer a filter.
+ *
+ * Run from the project folder:
+ *   java -cp <classes> petadoptionapp.ColumnScanBenchmark [pet counts...]   (default 10000 100000 1000000)
+ *
+ * The same filter (female cats aged one to five years) is answered by a
+ * stream over the pet list, as before the column store; by the bitmap
+ * indexes; and by the predicate scan the planner falls back to, both
+ * sequential and in fork-join chunks. Each result's best of RUNS passes is
+ * reported, and every method must find the same pets.
+ */
+final class ColumnScanBenchmark {
+    private static final int[] DEFAULT_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int RUNS = 5;
+    private static final int WARMUP_RUNS = 2;
+
+    private static int failures;
+
+    private ColumnScanBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        PetFilter filter = PetFilter.all()
+                .ofType(Cat.class)
+                .withGender(Gender.FEMALE)
+                .withAgeMonths(12, 60);
+        Predicate<Pet> predicate = filter::matches;
+        PetQuery indexed = PetQuery.from(filter);
+
+        System.out.printf("%9s  %-22s %9s %10s %14s%n", "pets", "method", "matches", "best ms", "pets/s");
+        for (int size : sizes) {
+            List<Pet> pets = generatePets(size);
+            PetColumnStore store = new PetColumnStore();
+            store.rebuild(pets);
+
+            int expected = (int) pets.stream().filter(predicate).count();
+            benchmark(size, "list stream", expected, () -> (int) pets.stream().filter(predicate).count());
+            benchmark(size, "bitmap index", expected,
+                    () -> PetQueryPlanner.plan(indexed, store.size()).execute(store).length);
+            benchmark(size, "predicate scan", expected, () -> store.scan(predicate, false).length);
+            benchmark(size, "parallel scan", expected, () -> store.scan(predicate, true).length);
+        }
+
+        if (failures > 0) {
+            System.out.println(failures + " method(s) found the wrong pets");
+            System.exit(1);
+        }
+    }
+
+    // Abstraction - One way of counting the pets that pass the filter
+    private interface Count {
+        int run();
+    }
+
+    private static void benchmark(int size, String method, int expected, Count count) {
+        long best = Long.MAX_VALUE;
+        int matches = 0;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+            long start = System.nanoTime();
+            matches = count.run();
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        }
+        if (matches != expected) {
+            failures++;
+        }
+        System.out.printf("%9d  %-22s %9d %10.2f %14.0f%s%n", size, method, matches, best / 1e6,
+                size / (best / 1e9), matches == expected ? "" : "  expected " + expected);
+    }
+
+    // The default pets repeated with varied ages, so the age range splits them
+    private static List<Pet> generatePets(int size) {
+        List<Pet> defaults = PetDataManager.getDefaultPets();
+        List<Pet> pets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Pet base = defaults.get(i % defaults.size());
+            String name = base.getName() + " " + (i / defaults.size() + 1);
+            int age = i % 10;
+            int months = i % 12;
+            Pet pet = base instanceof Cat
+                    ? new Cat(name, age, months, base.getGender(), base.getImagePath())
+                    : new Dog(name, age, months, base.getGender(), base.getImagePath());
+            pet.setId(i + 1);
+            pet.setBreed(base.getBreed());
+            pet.setSpayStatus(base.getSpayStatus());
+            pets.add(pet);
+        }
+        return pets;
+    }
+}
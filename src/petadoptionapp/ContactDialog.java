@@ -24,15 +24,16 @@ public class ContactDialog extends JDialog {
         setSize(700, 500);
 
         // Abstraction - Hiding image loading complexity
+        // Scaled once to the dialog's size and shared, so reopening the dialog decodes nothing
         try {
             URL firstImageUrl = getClass().getResource("/resources/2.png");
             if (firstImageUrl != null) {
-                backgroundImage = new ImageIcon(firstImageUrl).getImage();
+                backgroundImage = PetImageLoader.loadNow(firstImageUrl, getWidth(), getHeight()).getImage();
             }
             
             URL secondImageUrl = getClass().getResource("/resources/4.png");
             if (secondImageUrl != null) {
-                secondImage = new ImageIcon(secondImageUrl).getImage();
+                secondImage = PetImageLoader.loadNow(secondImageUrl, getWidth(), getHeight()).getImage();
             }
         } catch (Exception e) {
             e.printStackTrace();
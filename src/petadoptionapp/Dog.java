@@ -16,7 +16,12 @@ public class Dog extends Pet implements Serializable {
 	public Dog(String name, int age, int months, String description, String imagePath, String gender) { // Overloaded
 		super(name, age, months, description, imagePath, gender);
 	}
-	
+
+	// Polymorphism - Constructor overloading (typed attributes are set afterwards)
+	public Dog(String name, int age, int months, Gender gender, String imagePath) {
+		super(name, age, months, gender, imagePath);
+	}
+
 	// Polymorphism - Method overriding
 	@Override
 	public void displayDetails() {
@@ -0,0 +1,179 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Encapsulation - Hand-written Externalizable form: no per-object class descriptors or reflection
+public class ExternalizablePetCodec implements PetCodec {
+    @Override
+    public String getName() {
+        return "externalizable";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ext";
+    }
+
+    @Override
+    public void write(List<Pet> pets, OutputStream out) throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeObject(new PetList(pets));
+        oos.flush();
+    }
+
+    @Override
+    public ArrayList<Pet> read(InputStream in) throws IOException {
+        try {
+            return ((PetList) new ObjectInputStream(in).readObject()).getPets();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not an externalized pet list", e);
+        }
+    }
+
+    // Pet subclasses have no no-arg constructor, so the whole list is externalized as one object
+    public static class PetList implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        // Written as a negative leading int; older lists start with their (non-negative) count
+        private static final int TYPED_FORMAT = -2;
+        private static final int TYPED_FORMAT_WITH_IDS = -3;
+        // Strings as length-prefixed UTF-8, since writeUTF stops at 64 KB
+        private static final int TYPED_FORMAT_LONG_STRINGS = -4;
+        private ArrayList<Pet> pets;
+
+        public PetList() {
+            this.pets = new ArrayList<>();
+        }
+
+        PetList(List<Pet> pets) {
+            this.pets = new ArrayList<>(pets);
+        }
+
+        ArrayList<Pet> getPets() {
+            return pets;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeInt(TYPED_FORMAT_LONG_STRINGS);
+            out.writeInt(pets.size());
+            for (Pet pet : pets) {
+                out.writeLong(pet.getId());
+                out.writeBoolean(pet instanceof Cat);
+                out.writeInt(pet.getAge());
+                out.writeInt(pet.getMonths());
+                writeString(out, pet.getName());
+                writeString(out, pet.getImagePath());
+                writeString(out, pet.getGender() == null ? null : pet.getGender().getLabel());
+                writeString(out, pet.getColor());
+                writeString(out, pet.getBreed());
+                writeString(out, pet.getHealthStatus());
+                out.writeByte(pet.getSpayStatus().ordinal());
+                out.writeInt(pet.getVaccinations().size());
+                for (String vaccination : pet.getVaccinations()) {
+                    writeString(out, vaccination);
+                }
+                writeString(out, pet.getNotes());
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            int header = in.readInt();
+            if (header != TYPED_FORMAT && header != TYPED_FORMAT_WITH_IDS && header != TYPED_FORMAT_LONG_STRINGS) {
+                readLegacy(in, header);
+                return;
+            }
+            boolean longStrings = header == TYPED_FORMAT_LONG_STRINGS;
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Invalid pet count " + count);
+            }
+            // A damaged count must not allocate before the records prove it
+            pets = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                long id = header == TYPED_FORMAT ? 0 : in.readLong();
+                boolean cat = in.readBoolean();
+                int age = in.readInt();
+                int months = in.readInt();
+                String name = readString(in, longStrings);
+                String imagePath = readString(in, longStrings);
+                Gender gender = Gender.fromLabel(readString(in, longStrings));
+                Pet pet = cat ? new Cat(name, age, months, gender, imagePath)
+                              : new Dog(name, age, months, gender, imagePath);
+                pet.setId(id);
+                pet.setColor(readString(in, longStrings));
+                pet.setBreed(readString(in, longStrings));
+                pet.setHealthStatus(readString(in, longStrings));
+                int spayStatus = in.readByte();
+                if (spayStatus < 0 || spayStatus >= SpayStatus.values().length) {
+                    throw new IOException("Unknown spay status " + spayStatus);
+                }
+                pet.setSpayStatus(SpayStatus.values()[spayStatus]);
+                int vaccinationCount = in.readInt();
+                Set<String> vaccinations = new LinkedHashSet<>();
+                for (int j = 0; j < vaccinationCount; j++) {
+                    String vaccination = longStrings ? readString(in, true) : in.readUTF();
+                    if (vaccination == null) {
+                        throw new IOException("Missing vaccination name");
+                    }
+                    vaccinations.add(vaccination);
+                }
+                pet.setVaccinations(vaccinations);
+                pet.setNotes(readString(in, longStrings));
+                pets.add(pet);
+            }
+        }
+
+        // Lists written before typed attributes carry the free-text description
+        private void readLegacy(ObjectInput in, int count) throws IOException {
+            if (count < 0) {
+                throw new IOException("Unknown pet list format " + count);
+            }
+            pets = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                boolean cat = in.readBoolean();
+                int age = in.readInt();
+                int months = in.readInt();
+                String name = readString(in, false);
+                String description = readString(in, false);
+                String imagePath = readString(in, false);
+                String gender = readString(in, false);
+                pets.add(cat ? new Cat(name, age, months, description, imagePath, gender)
+                             : new Dog(name, age, months, description, imagePath, gender));
+            }
+        }
+
+        // Byte length (-1 for null) then UTF-8 bytes, as BinaryPetCodec records hold strings
+        private static void writeString(ObjectOutput out, String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        // Older lists wrote a presence flag and writeUTF
+        private static String readString(ObjectInput in, boolean longStrings) throws IOException {
+            if (!longStrings) {
+                return in.readBoolean() ? in.readUTF() : null;
+            }
+            int length = in.readInt();
+            if (length == -1) {
+                return null;
+            }
+            if (length < 0) {
+                throw new IOException("Invalid string length " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package petadoptionapp;
+
+// Encapsulation - Fixed set of genders instead of free-text labels
+public enum Gender {
+    MALE("Male"),
+    FEMALE("Female");
+
+    private final String label;
+
+    Gender(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Unknown labels fall back to null so callers can decide on a default
+    public static Gender fromLabel(String label) {
+        if (label != null) {
+            for (Gender gender : values()) {
+                if (gender.label.equalsIgnoreCase(label.trim())) {
+                    return gender;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
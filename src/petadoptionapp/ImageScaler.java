@@ -0,0 +1,91 @@
+package petadoptionapp;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/*
+ * Abstraction - Resizes images with Java2D instead of Image.getScaledInstance.
+ *
+ * getScaledInstance(SCALE_SMOOTH) runs an area-averaging filter through
+ * the old producer/consumer pipeline and returns a ToolkitImage that has
+ * to be waited for and cannot be accelerated. Here each step is a single
+ * interpolated drawImage into a BufferedImage in the screen's own pixel
+ * layout. A single bilinear or bicubic step only samples a few source
+ * pixels per target pixel, so big reductions halve the image repeatedly
+ * and only the last step lands on the exact size.
+ */
+final class ImageScaler {
+    // Abstraction - Quality tiers, cheapest first
+    enum Quality {
+        // One bilinear step; for previews that are replaced a moment later
+        FAST(RenderingHints.VALUE_INTERPOLATION_BILINEAR, false),
+        // Bilinear, halving at a time
+        BALANCED(RenderingHints.VALUE_INTERPOLATION_BILINEAR, true),
+        // Bicubic, halving at a time
+        BEST(RenderingHints.VALUE_INTERPOLATION_BICUBIC, true);
+
+        private final Object interpolation;
+        private final boolean multiStep;
+
+        Quality(Object interpolation, boolean multiStep) {
+            this.interpolation = interpolation;
+            this.multiStep = multiStep;
+        }
+    }
+
+    private static final int COMPATIBLE_TYPE = createCompatibleImage(1, 1).getType();
+
+    private ImageScaler() {
+    }
+
+    static BufferedImage scale(Image source, int width, int height, Quality quality) {
+        int currentWidth = source.getWidth(null);
+        int currentHeight = source.getHeight(null);
+        if (currentWidth <= 0 || currentHeight <= 0) {
+            throw new IllegalArgumentException("Image is not loaded");
+        }
+        if (currentWidth == width && currentHeight == height && source instanceof BufferedImage) {
+            return toCompatible((BufferedImage) source);
+        }
+        Image current = source;
+        do {
+            // Never shrink by more than half per step, and never below the target
+            if (quality.multiStep) {
+                currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+                currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+            } else {
+                currentWidth = width;
+                currentHeight = height;
+            }
+            current = draw(current, currentWidth, currentHeight, quality.interpolation);
+        } while (currentWidth != width || currentHeight != height);
+        return (BufferedImage) current;
+    }
+
+    private static BufferedImage draw(Image source, int width, int height, Object interpolation) {
+        BufferedImage scaled = createCompatibleImage(width, height);
+        Graphics2D g2 = scaled.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.drawImage(source, 0, 0, width, height, null);
+        g2.dispose();
+        return scaled;
+    }
+
+    // The image itself if it is already laid out like the screen, else a copy that is
+    static BufferedImage toCompatible(BufferedImage image) {
+        if (image.getType() == COMPATIBLE_TYPE && COMPATIBLE_TYPE != BufferedImage.TYPE_CUSTOM) {
+            return image;
+        }
+        return draw(image, image.getWidth(), image.getHeight(), RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    // Matches the screen's pixel layout so painting it needs no conversion; plain ARGB when headless
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+}
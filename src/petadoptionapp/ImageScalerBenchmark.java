@@ -0,0 +1,151 @@
+package petadoptionapp;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Abstraction - Times Image.getScaledInstance against each ImageScaler quality.
+ *
+ * Run from the project folder with the resources on the class path:
+ *   java -cp <classes> petadoptionapp.ImageScalerBenchmark [image names...]   (default: every bundled pet photo)
+ *
+ * Every photo is decoded once, then scaled to each size the screens ask
+ * for: the 250x250 card and details image and the 400x300 carousel
+ * slide. getScaledInstance(SCALE_SMOOTH) is waited for through ImageIcon,
+ * as the app did before ImageScaler. Each method's best of RUNS passes is
+ * reported, with its mean per-channel difference from the area-averaged
+ * getScaledInstance result as a rough measure of how much it blurs or aliases.
+ */
+final class ImageScalerBenchmark {
+    private static final int[][] SIZES = {{250, 250}, {400, 300}};
+    private static final int RUNS = 5;
+    // Unmeasured passes first, so the JIT has compiled the scaling loops
+    private static final int WARMUP_RUNS = 2;
+
+    private ImageScalerBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<BufferedImage> photos = new ArrayList<>();
+        long sourcePixels = 0;
+        for (String name : args.length == 0 ? bundledPhotoNames() : Arrays.asList(args)) {
+            URL url = ImageScalerBenchmark.class.getResource("/resources/" + name);
+            if (url == null) {
+                System.out.println("No resource named " + name);
+                continue;
+            }
+            try (InputStream in = url.openStream()) {
+                BufferedImage photo = ImageIO.read(in);
+                photos.add(photo);
+                sourcePixels += (long) photo.getWidth() * photo.getHeight();
+            }
+        }
+        if (photos.isEmpty()) {
+            System.out.println("Nothing to scale");
+            System.exit(1);
+        }
+        System.out.printf("%d photos, %.0f source pixels on average%n%n", photos.size(), (double) sourcePixels / photos.size());
+
+        System.out.printf("%-9s  %-22s %12s %12s %10s%n", "size", "method", "total ms", "ms/photo", "mean diff");
+        for (int[] size : SIZES) {
+            int width = size[0];
+            int height = size[1];
+            List<BufferedImage> reference = new ArrayList<>();
+            long smooth = time(photos, photo -> {
+                BufferedImage scaled = fromScaledInstance(photo, width, height);
+                if (reference.size() < photos.size()) {
+                    reference.add(scaled);
+                }
+                return scaled;
+            });
+            print(width, height, "getScaledInstance", smooth, photos.size(), 0);
+            for (ImageScaler.Quality quality : ImageScaler.Quality.values()) {
+                List<BufferedImage> results = new ArrayList<>();
+                long elapsed = time(photos, photo -> {
+                    BufferedImage scaled = ImageScaler.scale(photo, width, height, quality);
+                    if (results.size() < photos.size()) {
+                        results.add(scaled);
+                    }
+                    return scaled;
+                });
+                print(width, height, "ImageScaler " + quality, elapsed, photos.size(), meanDifference(reference, results));
+            }
+        }
+    }
+
+    // Abstraction - One way of scaling a photo to the size being measured
+    private interface Scaling {
+        BufferedImage scale(BufferedImage photo);
+    }
+
+    // Best of RUNS passes over every photo, in nanoseconds
+    private static long time(List<BufferedImage> photos, Scaling scaling) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+            long start = System.nanoTime();
+            for (BufferedImage photo : photos) {
+                scaling.scale(photo);
+            }
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        }
+        return best;
+    }
+
+    private static void print(int width, int height, String method, long nanos, int photoCount, double difference) {
+        System.out.printf("%-9s  %-22s %12.1f %12.2f %10.2f%n",
+                width + "x" + height, method, nanos / 1e6, nanos / 1e6 / photoCount, difference);
+    }
+
+    // The pre-ImageScaler path: ImageIcon waits for the producer to finish, then the pixels are copied out to compare
+    private static BufferedImage fromScaledInstance(BufferedImage photo, int width, int height) {
+        Image scaled = new ImageIcon(photo.getScaledInstance(width, height, Image.SCALE_SMOOTH)).getImage();
+        BufferedImage pixels = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = pixels.createGraphics();
+        g2.drawImage(scaled, 0, 0, null);
+        g2.dispose();
+        return pixels;
+    }
+
+    // Mean absolute difference per ARGB channel, 0-255, over every photo
+    private static double meanDifference(List<BufferedImage> expected, List<BufferedImage> actual) {
+        long total = 0;
+        long samples = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            BufferedImage a = expected.get(i);
+            BufferedImage b = actual.get(i);
+            for (int y = 0; y < a.getHeight(); y++) {
+                for (int x = 0; x < a.getWidth(); x++) {
+                    int p = a.getRGB(x, y);
+                    int q = b.getRGB(x, y);
+                    for (int shift = 0; shift < 32; shift += 8) {
+                        total += Math.abs((p >>> shift & 0xFF) - (q >>> shift & 0xFF));
+                    }
+                    samples += 4;
+                }
+            }
+        }
+        return (double) total / samples;
+    }
+
+    // The cat_ and dog_ photos the default catalog points at
+    private static List<String> bundledPhotoNames() {
+        List<String> names = new ArrayList<>();
+        for (Pet pet : PetDataManager.getDefaultPets()) {
+            String path = pet.getImagePath();
+            if (path != null && !path.isEmpty()) {
+                names.add(path.substring(path.lastIndexOf('/') + 1));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,324 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Encapsulation - Streaming JSON array of pet objects, written and parsed one pet at a time
+public class JsonPetCodec implements PetCodec {
+    @Override
+    public String getName() {
+        return "json";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "json";
+    }
+
+    @Override
+    public void write(List<Pet> pets, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("[\n");
+        for (int i = 0; i < pets.size(); i++) {
+            Pet pet = pets.get(i);
+            writer.write("  {\"id\": " + pet.getId());
+            writer.write(", \"type\": ");
+            writeString(writer, pet instanceof Cat ? "Cat" : "Dog");
+            writer.write(", \"name\": ");
+            writeString(writer, pet.getName());
+            writer.write(", \"age\": " + pet.getAge());
+            writer.write(", \"months\": " + pet.getMonths());
+            writer.write(", \"gender\": ");
+            writeString(writer, pet.getGender() == null ? null : pet.getGender().getLabel());
+            writer.write(", \"imagePath\": ");
+            writeString(writer, pet.getImagePath());
+            writer.write(", \"color\": ");
+            writeString(writer, pet.getColor());
+            writer.write(", \"breed\": ");
+            writeString(writer, pet.getBreed());
+            writer.write(", \"healthStatus\": ");
+            writeString(writer, pet.getHealthStatus());
+            writer.write(", \"spayStatus\": ");
+            writeString(writer, pet.getSpayStatus().getLabel());
+            writer.write(", \"vaccinations\": [");
+            boolean first = true;
+            for (String vaccination : pet.getVaccinations()) {
+                if (!first) {
+                    writer.write(", ");
+                }
+                writeString(writer, vaccination);
+                first = false;
+            }
+            writer.write("], \"notes\": ");
+            writeString(writer, pet.getNotes());
+            writer.write(i < pets.size() - 1 ? "},\n" : "}\n");
+        }
+        writer.write("]\n");
+        writer.flush();
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': writer.write("\\\""); break;
+                case '\\': writer.write("\\\\"); break;
+                case '\n': writer.write("\\n"); break;
+                case '\r': writer.write("\\r"); break;
+                case '\t': writer.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    @Override
+    public ArrayList<Pet> read(InputStream in) throws IOException {
+        JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        ArrayList<Pet> pets = new ArrayList<>();
+        reader.expect('[');
+        if (reader.peek() == ']') {
+            reader.next();
+            return pets;
+        }
+        do {
+            pets.add(readPet(reader));
+        } while (reader.nextSeparator(']'));
+        return pets;
+    }
+
+    // Files written before typed attributes only have "description"; it is parsed lazily by Pet
+    private static Pet readPet(JsonReader reader) throws IOException {
+        String type = null, name = null, gender = null, imagePath = null, description = null;
+        String color = null, breed = null, healthStatus = null, spayStatus = null, notes = null;
+        Set<String> vaccinations = null;
+        long id = 0;
+        int age = 0, months = 0;
+
+        reader.expect('{');
+        if (reader.peek() == '}') {
+            reader.next();
+        } else {
+            do {
+                String field = reader.readString();
+                reader.expect(':');
+                switch (field) {
+                    case "id": id = reader.readLong(); break;
+                    case "type": type = reader.readNullableString(); break;
+                    case "name": name = reader.readNullableString(); break;
+                    case "age": age = reader.readInt(); break;
+                    case "months": months = reader.readInt(); break;
+                    case "gender": gender = reader.readNullableString(); break;
+                    case "imagePath": imagePath = reader.readNullableString(); break;
+                    case "description": description = reader.readNullableString(); break;
+                    case "color": color = reader.readNullableString(); break;
+                    case "breed": breed = reader.readNullableString(); break;
+                    case "healthStatus": healthStatus = reader.readNullableString(); break;
+                    case "spayStatus": spayStatus = reader.readNullableString(); break;
+                    case "vaccinations": vaccinations = readStringArray(reader); break;
+                    case "notes": notes = reader.readNullableString(); break;
+                    default: reader.skipValue();
+                }
+            } while (reader.nextSeparator('}'));
+        }
+
+        Pet pet;
+        if ("Cat".equals(type)) {
+            pet = new Cat(name, age, months, description, imagePath, gender);
+        } else if ("Dog".equals(type)) {
+            pet = new Dog(name, age, months, description, imagePath, gender);
+        } else {
+            throw new IOException("Unknown pet type " + type);
+        }
+        pet.setId(id);
+        if (description == null) {
+            pet.setColor(color);
+            pet.setBreed(breed);
+            pet.setHealthStatus(healthStatus);
+            pet.setSpayStatus(SpayStatus.fromLabel(spayStatus));
+            pet.setVaccinations(vaccinations);
+            pet.setNotes(notes);
+        }
+        return pet;
+    }
+
+    private static Set<String> readStringArray(JsonReader reader) throws IOException {
+        Set<String> values = new LinkedHashSet<>();
+        if (reader.peek() == 'n') {
+            reader.readNullableString();
+            return values;
+        }
+        reader.expect('[');
+        if (reader.peek() == ']') {
+            reader.next();
+            return values;
+        }
+        do {
+            values.add(reader.readString());
+        } while (reader.nextSeparator(']'));
+        return values;
+    }
+
+    // Minimal pull parser covering the subset of JSON this codec writes
+    private static class JsonReader {
+        private final Reader reader;
+        private int peeked = -2;
+
+        JsonReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        int peek() throws IOException {
+            if (peeked == -2) {
+                int c;
+                do {
+                    c = reader.read();
+                } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+                peeked = c;
+            }
+            return peeked;
+        }
+
+        int next() throws IOException {
+            int c = peek();
+            peeked = -2;
+            return c;
+        }
+
+        void expect(char expected) throws IOException {
+            int c = next();
+            if (c != expected) {
+                throw new IOException("Expected '" + expected + "' but found " + describe(c));
+            }
+        }
+
+        // Consumes a ',' (more elements follow) or the closing character (done)
+        boolean nextSeparator(char closing) throws IOException {
+            int c = next();
+            if (c == ',') {
+                return true;
+            }
+            if (c == closing) {
+                return false;
+            }
+            throw new IOException("Expected ',' or '" + closing + "' but found " + describe(c));
+        }
+
+        String readNullableString() throws IOException {
+            if (peek() == 'n') {
+                readLiteral("null");
+                return null;
+            }
+            return readString();
+        }
+
+        String readString() throws IOException {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                int c = reader.read();
+                if (c == -1) {
+                    throw new IOException("Unterminated string");
+                } else if (c == '"') {
+                    return value.toString();
+                } else if (c == '\\') {
+                    int escaped = reader.read();
+                    switch (escaped) {
+                        case 'n': value.append('\n'); break;
+                        case 'r': value.append('\r'); break;
+                        case 't': value.append('\t'); break;
+                        case 'b': value.append('\b'); break;
+                        case 'f': value.append('\f'); break;
+                        case 'u':
+                            char[] hex = new char[4];
+                            for (int i = 0; i < 4; i++) {
+                                hex[i] = (char) reader.read();
+                            }
+                            try {
+                                value.append((char) Integer.parseInt(new String(hex), 16));
+                            } catch (NumberFormatException e) {
+                                throw new IOException("Invalid unicode escape " + new String(hex));
+                            }
+                            break;
+                        case -1: throw new IOException("Unterminated string");
+                        default: value.append((char) escaped);
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            }
+        }
+
+        int readInt() throws IOException {
+            long value = readLong();
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IOException("Number out of range " + value);
+            }
+            return (int) value;
+        }
+
+        long readLong() throws IOException {
+            StringBuilder digits = new StringBuilder();
+            while (peek() == '-' || (peek() >= '0' && peek() <= '9')) {
+                digits.append((char) next());
+            }
+            try {
+                return Long.parseLong(digits.toString());
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid number " + digits);
+            }
+        }
+
+        void skipValue() throws IOException {
+            int c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                char closing = c == '{' ? '}' : ']';
+                next();
+                if (peek() == closing) {
+                    next();
+                    return;
+                }
+                do {
+                    if (closing == '}') {
+                        readString();
+                        expect(':');
+                    }
+                    skipValue();
+                } while (nextSeparator(closing));
+            } else {
+                // Number, true, false or null
+                while (peek() != ',' && peek() != '}' && peek() != ']' && peek() != -1) {
+                    next();
+                }
+            }
+        }
+
+        private void readLiteral(String literal) throws IOException {
+            for (int i = 0; i < literal.length(); i++) {
+                if ((i == 0 ? next() : reader.read()) != literal.charAt(i)) {
+                    throw new IOException("Expected " + literal);
+                }
+            }
+        }
+
+        private static String describe(int c) {
+            return c == -1 ? "end of input" : "'" + (char) c + "'";
+        }
+    }
+}
@@ -44,9 +44,7 @@ public class MainFrame extends JFrame {
         try {
             URL imageUrl = getClass().getResource("/resources/1.png");
             if (imageUrl != null) {
-                ImageIcon originalIcon = new ImageIcon(imageUrl);
-                Image scaledLogo = originalIcon.getImage().getScaledInstance(300, 80, Image.SCALE_SMOOTH);
-                logoLabel = new JLabel(new ImageIcon(scaledLogo));
+                logoLabel = new JLabel(PetImageLoader.loadNow(imageUrl, 300, 80));
             } else {
                 logoLabel = new JLabel("FurGivers Paws of Hope");
                 logoLabel.setFont(new Font("SansSerif", Font.BOLD, 36));
@@ -352,21 +350,18 @@ public class MainFrame extends JFrame {
         });
 
         JLabel imageLabel = new JLabel();
-        try {
-            URL imgUrl = getClass().getResource(imagePath);
-            if (imgUrl != null) {
-                ImageIcon icon = new ImageIcon(imgUrl);
-                Image scaledImg = icon.getImage().getScaledInstance(250, 250, Image.SCALE_SMOOTH);
-                imageLabel.setIcon(new ImageIcon(scaledImg));
-            } else {
-                imageLabel.setText("Image N/A");
-                imageLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
-                imageLabel.setForeground(Color.GRAY);
-            }
-        } catch (Exception e) {
-            imageLabel.setText("Image Error");
-            imageLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
-            imageLabel.setForeground(Color.GRAY);
+        imageLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
+        imageLabel.setForeground(Color.GRAY);
+        URL imgUrl = getClass().getResource(imagePath);
+        if (imgUrl != null) {
+            // Decoded off the EDT; the placeholder keeps the card's size until then
+            imageLabel.setIcon(PetImageLoader.placeholder(250, 250));
+            PetImageLoader.load(imgUrl, 250, 250, imageLabel::setIcon, () -> {
+                imageLabel.setIcon(null);
+                imageLabel.setText("Image Error");
+            });
+        } else {
+            imageLabel.setText("Image N/A");
         }
         imageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         imageLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
@@ -402,20 +397,13 @@ public class MainFrame extends JFrame {
             "/resources/cat_siopao.png"
         };
         
-        ImageIcon[] images = new ImageIcon[imagePaths.length];
+        Icon[] images = new Icon[imagePaths.length];
+        URL[] imageUrls = new URL[imagePaths.length];
         for (int i = 0; i < imagePaths.length; i++) {
-            try {
-                URL imgUrl = getClass().getResource(imagePaths[i]);
-                if (imgUrl != null) {
-                    ImageIcon originalIcon = new ImageIcon(imgUrl);
-                    Image scaledImage = originalIcon.getImage().getScaledInstance(400, 300, Image.SCALE_SMOOTH);
-                    images[i] = new ImageIcon(scaledImage);
-                } else {
-                    images[i] = createPlaceholderIcon(400, 300, "Image " + (i + 1) + " Not Found");
-                }
-            } catch (Exception e) {
-                images[i] = createPlaceholderIcon(400, 300, "Error Loading Image " + (i + 1));
-            }
+            imageUrls[i] = getClass().getResource(imagePaths[i]);
+            images[i] = imageUrls[i] != null
+                    ? PetImageLoader.placeholder(400, 300)
+                    : createPlaceholderIcon(400, 300, "Image " + (i + 1) + " Not Found");
         }
 
         JPanel carouselPanel = new JPanel(new BorderLayout());
@@ -453,6 +441,22 @@ public class MainFrame extends JFrame {
 
         AtomicInteger currentIndex = new AtomicInteger(0);
 
+        // Slides are decoded in the background and swapped in as each one finishes
+        for (int i = 0; i < imagePaths.length; i++) {
+            if (imageUrls[i] == null) {
+                continue;
+            }
+            int slide = i;
+            Consumer<Icon> showSlide = icon -> {
+                images[slide] = icon;
+                if (currentIndex.get() == slide) {
+                    imageLabel.setIcon(icon);
+                }
+            };
+            PetImageLoader.load(imageUrls[i], 400, 300, showSlide::accept,
+                    () -> showSlide.accept(createPlaceholderIcon(400, 300, "Error Loading Image " + (slide + 1))));
+        }
+
         // Abstraction - Using Consumer interface to hide implementation details
         Consumer<Integer> updateCarousel = (newIndex) -> {
             imageLabel.setIcon(null);
@@ -1,18 +1,53 @@
 package petadoptionapp;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 //Abstraction - Abstract base class for pets (implements Serializable)
 public abstract class Pet implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final int EMPTY_CODE = AttributeDictionary.STRINGS.encode("");
+    private static final int NO_VACCINATIONS_CODE = AttributeDictionary.encodeVaccinations(null);
+
+    // Serialized form keeps the original fields so files written by older versions still load
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("id", long.class),
+        new ObjectStreamField("name", String.class),
+        new ObjectStreamField("age", int.class),
+        new ObjectStreamField("months", int.class),
+        new ObjectStreamField("description", String.class),
+        new ObjectStreamField("imagePath", String.class),
+        new ObjectStreamField("gender", String.class),
+        new ObjectStreamField("typedAttributes", boolean.class),
+        new ObjectStreamField("color", String.class),
+        new ObjectStreamField("breed", String.class),
+        new ObjectStreamField("healthStatus", String.class),
+        new ObjectStreamField("spayStatus", String.class),
+        new ObjectStreamField("vaccinations", String[].class),
+        new ObjectStreamField("notes", String.class)
+    };
 
     // Encapsulation - Private fields with public getters/setters
+    // Assigned once by PetDataManager; 0 until the pet joins the catalog
+    private long id;
     private String name;
     private int age;
     private int months;
-    private String description;
-    private String imagePath;
-    private String gender;
+    private Gender gender;
+    private SpayStatus spayStatus = SpayStatus.NOT_YET;
+    // Repeated values are held as codes into the shared AttributeDictionary tables
+    private int imagePathCode = AttributeDictionary.NO_VALUE;
+    private int colorCode = EMPTY_CODE;
+    private int breedCode = EMPTY_CODE;
+    private int healthStatusCode = EMPTY_CODE;
+    private int vaccinationsCode = NO_VACCINATIONS_CODE;
+    private String notes = "";
 
     // Polymorphism - Constructor overloading
     public Pet(String name, int age, String description, String imagePath, String gender) {
@@ -20,15 +55,28 @@ public abstract class Pet implements Serializable {
     }
 
     public Pet(String name, int age, int months, String description, String imagePath, String gender) {
+        this(name, age, months, Gender.fromLabel(gender), imagePath);
+        // Parsed here rather than on first read, since getters run on worker threads too
+        PetDescriptionParser.parseInto(this, description);
+    }
+
+    public Pet(String name, int age, int months, Gender gender, String imagePath) {
         this.name = name;
         this.age = age;
         this.months = months;
-        this.description = description;
-        this.imagePath = imagePath;
         this.gender = gender;
+        this.imagePathCode = AttributeDictionary.STRINGS.encode(imagePath);
     }
 
     // Encapsulation - Getters and setters
+    public long getId() {
+        return id;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -41,18 +89,55 @@ public abstract class Pet implements Serializable {
         return months;
     }
 
+    // Full text shown to adopters, built from the typed attributes
     public String getDescription() {
-        return description;
+        return PetDescriptionParser.format(this);
     }
 
     public String getImagePath() {
-        return imagePath;
+        return AttributeDictionary.STRINGS.decode(imagePathCode);
     }
 
-    public String getGender() {
+    public Gender getGender() {
         return gender;
     }
 
+    public String getColor() {
+        return AttributeDictionary.STRINGS.decode(colorCode);
+    }
+
+    public String getBreed() {
+        return AttributeDictionary.STRINGS.decode(breedCode);
+    }
+
+    public String getHealthStatus() {
+        return AttributeDictionary.STRINGS.decode(healthStatusCode);
+    }
+
+    // Any recorded health condition other than a clean bill of health
+    public boolean hasSpecialNeeds() {
+        String status = getHealthStatus().trim().toLowerCase();
+        return !status.isEmpty() && !status.equals("healthy") && !status.equals("none")
+                && !status.startsWith("no health");
+    }
+
+    // Dictionary code of the breed, used by the column store
+    int getBreedCode() {
+        return breedCode;
+    }
+
+    public SpayStatus getSpayStatus() {
+        return spayStatus;
+    }
+
+    public Set<String> getVaccinations() {
+        return AttributeDictionary.VACCINATIONS.decode(vaccinationsCode);
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -65,18 +150,95 @@ public abstract class Pet implements Serializable {
         this.months = months;
     }
 
+    // Replaces every typed attribute with whatever the given free text contains
     public void setDescription(String description) {
-        this.description = description;
+        PetDescriptionParser.parseInto(this, description);
     }
 
     public void setImagePath(String imagePath) {
-        this.imagePath = imagePath;
+        this.imagePathCode = AttributeDictionary.STRINGS.encode(imagePath);
     }
 
-    public void setGender(String gender) {
+    public void setGender(Gender gender) {
         this.gender = gender;
     }
 
+    public void setColor(String color) {
+        this.colorCode = AttributeDictionary.STRINGS.encode(nonNull(color));
+    }
+
+    public void setBreed(String breed) {
+        this.breedCode = AttributeDictionary.STRINGS.encode(nonNull(breed));
+    }
+
+    public void setHealthStatus(String healthStatus) {
+        this.healthStatusCode = AttributeDictionary.STRINGS.encode(nonNull(healthStatus));
+    }
+
+    public void setSpayStatus(SpayStatus spayStatus) {
+        this.spayStatus = spayStatus == null ? SpayStatus.NOT_YET : spayStatus;
+    }
+
+    public void setVaccinations(Set<String> vaccinations) {
+        this.vaccinationsCode = AttributeDictionary.encodeVaccinations(vaccinations);
+    }
+
+    public void setNotes(String notes) {
+        this.notes = nonNull(notes);
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("id", id);
+        fields.put("name", name);
+        fields.put("age", age);
+        fields.put("months", months);
+        fields.put("description", getDescription());
+        fields.put("imagePath", getImagePath());
+        fields.put("gender", gender == null ? null : gender.getLabel());
+        fields.put("typedAttributes", true);
+        fields.put("color", getColor());
+        fields.put("breed", getBreed());
+        fields.put("healthStatus", getHealthStatus());
+        fields.put("spayStatus", spayStatus.getLabel());
+        fields.put("vaccinations", getVaccinations().toArray(new String[0]));
+        fields.put("notes", notes);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        id = fields.get("id", 0L);
+        name = (String) fields.get("name", null);
+        age = fields.get("age", 0);
+        months = fields.get("months", 0);
+        imagePathCode = AttributeDictionary.STRINGS.encode((String) fields.get("imagePath", null));
+        gender = Gender.fromLabel((String) fields.get("gender", null));
+        colorCode = EMPTY_CODE;
+        breedCode = EMPTY_CODE;
+        healthStatusCode = EMPTY_CODE;
+        spayStatus = SpayStatus.NOT_YET;
+        vaccinationsCode = NO_VACCINATIONS_CODE;
+        notes = "";
+        if (fields.get("typedAttributes", false)) {
+            colorCode = AttributeDictionary.STRINGS.encode(nonNull((String) fields.get("color", null)));
+            breedCode = AttributeDictionary.STRINGS.encode(nonNull((String) fields.get("breed", null)));
+            healthStatusCode = AttributeDictionary.STRINGS.encode(nonNull((String) fields.get("healthStatus", null)));
+            spayStatus = SpayStatus.fromLabel((String) fields.get("spayStatus", null));
+            String[] vaccinationNames = (String[]) fields.get("vaccinations", null);
+            if (vaccinationNames != null) {
+                vaccinationsCode = AttributeDictionary.encodeVaccinations(new LinkedHashSet<>(Arrays.asList(vaccinationNames)));
+            }
+            notes = nonNull((String) fields.get("notes", null));
+        } else {
+            PetDescriptionParser.parseInto(this, (String) fields.get("description", null));
+        }
+    }
+
     // Abstraction - Abstract method (must be implemented by subclasses)
     public abstract void displayDetails();
 }
\ No newline at end of file
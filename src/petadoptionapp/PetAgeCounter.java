@@ -0,0 +1,37 @@
+package petadoptionapp;
+
+// Encapsulation - Ages of a fixed set of pets, sorted once so any age range is counted by binary search
+public final class PetAgeCounter {
+    private final int[] sortedAgeMonths;
+
+    PetAgeCounter(int[] sortedAgeMonths) {
+        this.sortedAgeMonths = sortedAgeMonths;
+    }
+
+    // Pets aged minAgeMonths to maxAgeMonths inclusive
+    public int count(int minAgeMonths, int maxAgeMonths) {
+        if (minAgeMonths > maxAgeMonths) {
+            return 0;
+        }
+        int end = maxAgeMonths == Integer.MAX_VALUE ? sortedAgeMonths.length : firstAtLeast(maxAgeMonths + 1);
+        return end - firstAtLeast(minAgeMonths);
+    }
+
+    public int maxAgeMonths() {
+        return sortedAgeMonths.length == 0 ? 0 : sortedAgeMonths[sortedAgeMonths.length - 1];
+    }
+
+    private int firstAtLeast(int ageMonths) {
+        int low = 0;
+        int high = sortedAgeMonths.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAgeMonths[mid] < ageMonths) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
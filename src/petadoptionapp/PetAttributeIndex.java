@@ -0,0 +1,87 @@
+package petadoptionapp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Encapsulation - Secondary indexes over pet ordinals: one compressed bitmap per
+ * pet type, gender, breed and spay status, plus one for pets with special
+ * needs. PetColumnStore keeps them in step with its columns; age ranges are
+ * answered by the sorted age permutation in PetSortIndex instead.
+ */
+class PetAttributeIndex {
+    private final CompressedBitmap[] byType = newBitmaps(3);
+    private final CompressedBitmap[] byGender = newBitmaps(Gender.values().length + 1);
+    private final CompressedBitmap[] bySpayStatus = newBitmaps(SpayStatus.values().length);
+    private final CompressedBitmap specialNeeds = new CompressedBitmap();
+    private final Map<Integer, CompressedBitmap> byBreed = new HashMap<>();
+
+    public void add(int ordinal, byte type, byte gender, int breed, byte spayStatus, boolean needsCare) {
+        byType[type].add(ordinal);
+        byGender[gender].add(ordinal);
+        bySpayStatus[spayStatus].add(ordinal);
+        byBreed.computeIfAbsent(breed, code -> new CompressedBitmap()).add(ordinal);
+        if (needsCare) {
+            specialNeeds.add(ordinal);
+        }
+    }
+
+    // Called with the pet's previous values before its columns are overwritten
+    public void remove(int ordinal, byte type, byte gender, int breed, byte spayStatus) {
+        byType[type].remove(ordinal);
+        byGender[gender].remove(ordinal);
+        bySpayStatus[spayStatus].remove(ordinal);
+        specialNeeds.remove(ordinal);
+        CompressedBitmap breedOrdinals = byBreed.get(breed);
+        if (breedOrdinals != null) {
+            breedOrdinals.remove(ordinal);
+            if (breedOrdinals.isEmpty()) {
+                byBreed.remove(breed);
+            }
+        }
+    }
+
+    // The returned bitmaps belong to the index; query operations never modify their inputs
+    public CompressedBitmap type(byte type) {
+        return byType[type];
+    }
+
+    public CompressedBitmap gender(byte gender) {
+        return byGender[gender];
+    }
+
+    public CompressedBitmap spayStatus(byte spayStatus) {
+        return bySpayStatus[spayStatus];
+    }
+
+    public CompressedBitmap breed(int breed) {
+        CompressedBitmap ordinals = byBreed.get(breed);
+        return ordinals == null ? new CompressedBitmap() : ordinals;
+    }
+
+    public CompressedBitmap specialNeeds() {
+        return specialNeeds;
+    }
+
+    // Approximate heap held by all bitmaps
+    public long sizeInBytes() {
+        long bytes = specialNeeds.sizeInBytes();
+        for (CompressedBitmap[] bitmaps : new CompressedBitmap[][]{byType, byGender, bySpayStatus}) {
+            for (CompressedBitmap bitmap : bitmaps) {
+                bytes += bitmap.sizeInBytes();
+            }
+        }
+        for (CompressedBitmap bitmap : byBreed.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private static CompressedBitmap[] newBitmaps(int count) {
+        CompressedBitmap[] bitmaps = new CompressedBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new CompressedBitmap();
+        }
+        return bitmaps;
+    }
+}
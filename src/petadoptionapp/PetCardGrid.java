@@ -0,0 +1,196 @@
+package petadoptionapp;
+
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * Abstraction - Three-column grid of pet cards that only realizes what is on screen.
+ *
+ * Pets are pulled from a PetCursor a page at a time as the user scrolls
+ * near the end, but a card component exists only for the cells inside the
+ * viewport plus one row above and below. A card that scrolls out of range
+ * is handed the next pet that scrolls in, so the number of components and
+ * the layout work depend on the window size, not on how many pets match.
+ */
+class PetCardGrid extends JPanel implements Scrollable {
+    private static final int COLUMNS = 3;
+    private static final int CARD_WIDTH = 250;
+    private static final int CARD_HEIGHT = 350;
+    private static final int GAP = 25;
+    private static final Insets MARGIN = new Insets(30, 150, 30, 150);
+    // Rows realized beyond each edge of the viewport, so slow scrolling never shows blank cells
+    private static final int OVERSCAN_ROWS = 1;
+    // Another page is read once the viewport is this close to the last loaded row
+    private static final int LOAD_AHEAD = 700;
+    private static final int UNIT_INCREMENT = 16;
+
+    // Abstraction - A card that can be pointed at any pet and reused
+    abstract static class Card extends JPanel {
+        abstract void showPet(Pet pet);
+
+        // Called when the card is parked, e.g. to abandon work for a pet no longer shown
+        void release() {
+        }
+    }
+
+    private final Supplier<Card> cardFactory;
+    private final List<Pet> pets = new ArrayList<>();
+    private PetCursor cursor;
+    // Cards on screen by position in pets; spare cards are hidden and wait to be reused
+    private final Map<Integer, Card> shownCards = new HashMap<>();
+    private final ArrayDeque<Card> spareCards = new ArrayDeque<>();
+    private final ChangeListener viewportListener = e -> updateCards();
+    private JViewport viewport;
+
+    PetCardGrid(Supplier<Card> cardFactory) {
+        this.cardFactory = cardFactory;
+        setLayout(null);
+    }
+
+    // Replaces the grid's contents with the cursor's pets, starting from the top
+    void showPets(PetCursor petCursor) {
+        cursor = petCursor;
+        pets.clear();
+        for (Card card : shownCards.values()) {
+            park(card);
+        }
+        shownCards.clear();
+        loadMore();
+        revalidate();
+        repaint();
+        if (viewport != null) {
+            viewport.setViewPosition(new Point(0, 0));
+        }
+        updateCards();
+    }
+
+    boolean isEmpty() {
+        return pets.isEmpty();
+    }
+
+    // Components currently held, shown or spare; bounded by the viewport size
+    int getCardCount() {
+        return shownCards.size() + spareCards.size();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport) {
+            viewport = (JViewport) getParent();
+            viewport.addChangeListener(viewportListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener);
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public void doLayout() {
+        updateCards();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int rows = (pets.size() + COLUMNS - 1) / COLUMNS;
+        int width = MARGIN.left + MARGIN.right + COLUMNS * CARD_WIDTH + (COLUMNS - 1) * GAP;
+        int height = MARGIN.top + MARGIN.bottom + Math.max(0, rows * (CARD_HEIGHT + GAP) - GAP);
+        return new Dimension(width, height);
+    }
+
+    private void loadMore() {
+        if (cursor != null && cursor.hasMore()) {
+            pets.addAll(cursor.nextPage());
+        }
+    }
+
+    // Binds a card to every cell near the viewport and parks the rest
+    private void updateCards() {
+        Rectangle visible = getVisibleRect();
+        if (cursor != null && cursor.hasMore() && visible.y + visible.height >= getPreferredSize().height - LOAD_AHEAD) {
+            loadMore();
+            revalidate();
+        }
+
+        int rowHeight = CARD_HEIGHT + GAP;
+        int firstRow = Math.max(0, (visible.y - MARGIN.top) / rowHeight - OVERSCAN_ROWS);
+        int lastRow = (visible.y + visible.height - MARGIN.top) / rowHeight + OVERSCAN_ROWS;
+        int first = firstRow * COLUMNS;
+        int last = Math.min(pets.size() - 1, (lastRow + 1) * COLUMNS - 1);
+
+        Iterator<Map.Entry<Integer, Card>> shown = shownCards.entrySet().iterator();
+        while (shown.hasNext()) {
+            Map.Entry<Integer, Card> entry = shown.next();
+            if (entry.getKey() < first || entry.getKey() > last) {
+                park(entry.getValue());
+                shown.remove();
+            }
+        }
+
+        // Cells stretch with the viewport like GridLayout, but never below the card's own size
+        int cellWidth = Math.max(CARD_WIDTH, (getWidth() - MARGIN.left - MARGIN.right - (COLUMNS - 1) * GAP) / COLUMNS);
+        for (int i = first; i <= last; i++) {
+            Card card = shownCards.get(i);
+            if (card == null) {
+                card = spareCards.isEmpty() ? newCard() : spareCards.pop();
+                card.showPet(pets.get(i));
+                card.setVisible(true);
+                shownCards.put(i, card);
+            }
+            card.setBounds(MARGIN.left + (i % COLUMNS) * (cellWidth + GAP),
+                    MARGIN.top + (i / COLUMNS) * rowHeight, cellWidth, CARD_HEIGHT);
+        }
+    }
+
+    private void park(Card card) {
+        card.release();
+        card.setVisible(false);
+        spareCards.push(card);
+    }
+
+    private Card newCard() {
+        Card card = cardFactory.get();
+        add(card);
+        return card;
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return UNIT_INCREMENT;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    // Narrower than a full row of cards, the viewport scrolls sideways instead of squeezing them
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return getParent() instanceof JViewport && getParent().getWidth() >= getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
@@ -0,0 +1,226 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Encapsulation - Versioned binary catalog, read into memory in one go.
+ *
+ * The file is not memory-mapped: loading decodes every record anyway, and
+ * on Windows a live mapping stops the next snapshot from being renamed
+ * over it.
+ *
+ * Layout (big-endian):
+ *   header  : magic "PETC" (int), version (short), reserved (short), record count (int), snapshot epoch (long)
+ *   offsets : one int per record, the absolute file offset of that record
+ *   records : version 1 - bare PetRecordCodec records
+ *             version 2 - frames of magic "PETR" (int), length (int), CRC32C (int), PetRecordCodec record
+ */
+class PetCatalogFile {
+    private static final int MAGIC = 0x50455443; // "PETC"
+    private static final int FRAME_MAGIC = 0x50455452; // "PETR"
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = 20;
+    private static final int FRAME_HEADER_SIZE = 12;
+
+    private final File file;
+    private final ByteBuffer buffer;
+    private final short version;
+    private final int recordCount;
+    private final long epoch;
+
+    private PetCatalogFile(File file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        try {
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a pet catalog file");
+            }
+            this.version = buffer.getShort(4);
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Unsupported pet catalog version " + version);
+            }
+            this.recordCount = buffer.getInt(8);
+            this.epoch = buffer.getLong(12);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated pet catalog header");
+        }
+        if (recordCount < 0 || HEADER_SIZE + (long) recordCount * 4 > buffer.capacity()) {
+            throw new IOException("Corrupt pet catalog offset table");
+        }
+    }
+
+    // Abstraction - Opening reads the file and checks the header; no pet is decoded until readPet or readAll
+    public static PetCatalogFile open(File file) throws IOException {
+        return new PetCatalogFile(file, read(file));
+    }
+
+    // Holds no file handle afterwards, so the file can be replaced while the catalog is in use
+    private static ByteBuffer read(File file) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    // Materializes a single pet straight from its record
+    public Pet readPet(int index) throws IOException {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Pet record " + index + " of " + recordCount);
+        }
+        int offset = buffer.getInt(HEADER_SIZE + index * 4);
+        try {
+            ByteBuffer record = version == 1 ? positionedAt(buffer, offset) : readFrame(buffer, offset);
+            return PetRecordCodec.decode(record);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Corrupt pet record " + index);
+        }
+    }
+
+    public ArrayList<Pet> readAll() throws IOException {
+        ArrayList<Pet> pets = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            pets.add(readPet(i));
+        }
+        return pets;
+    }
+
+    // Reads every record, falling back to a frame-by-frame scan if any record is damaged
+    public ArrayList<Pet> readAll(PetLoadReport report) throws IOException {
+        try {
+            ArrayList<Pet> pets = readAll();
+            report.setRecoveredCount(pets.size());
+            return pets;
+        } catch (IOException e) {
+            if (version == 1) {
+                throw e;
+            }
+            return scanFrames(file.getName(), buffer, HEADER_SIZE + recordCount * 4, report);
+        }
+    }
+
+    // Recovery path for a catalog whose header or offset table cannot be trusted
+    public static ArrayList<Pet> recover(File file, PetLoadReport report) throws IOException {
+        return scanFrames(file.getName(), read(file), 0, report);
+    }
+
+    /*
+     * Walks the file looking for frames with a valid checksum. Bytes between
+     * good frames are reported as lost, so the scan costs one pass over the
+     * file no matter how many records are damaged.
+     */
+    private static ArrayList<Pet> scanFrames(String source, ByteBuffer buffer, int start, PetLoadReport report) {
+        ArrayList<Pet> pets = new ArrayList<>();
+        int position = start;
+        int damagedFrom = -1;
+        while (position + FRAME_HEADER_SIZE <= buffer.capacity()) {
+            ByteBuffer record = null;
+            if (buffer.getInt(position) == FRAME_MAGIC) {
+                try {
+                    record = readFrame(buffer, position);
+                } catch (IOException e) {
+                    record = null;
+                }
+            }
+            if (record == null) {
+                if (damagedFrom == -1) {
+                    damagedFrom = position;
+                }
+                position++;
+                continue;
+            }
+
+            if (damagedFrom != -1) {
+                report.recordLoss(source, damagedFrom, "unreadable bytes", copy(buffer, damagedFrom, position));
+                damagedFrom = -1;
+            }
+            int frameEnd = record.limit();
+            try {
+                pets.add(PetRecordCodec.decode(record));
+            } catch (IOException | BufferUnderflowException e) {
+                report.recordLoss(source, position, "undecodable record", copy(buffer, position, frameEnd));
+            }
+            position = frameEnd;
+        }
+        if (damagedFrom != -1 || position < buffer.capacity()) {
+            int from = damagedFrom != -1 ? damagedFrom : position;
+            report.recordLoss(source, from, "truncated record", copy(buffer, from, buffer.capacity()));
+        }
+        report.setRecoveredCount(pets.size());
+        return pets;
+    }
+
+    // Returns the payload of the frame at the given offset once its CRC32C has been verified
+    private static ByteBuffer readFrame(ByteBuffer buffer, int offset) throws IOException {
+        if (offset < 0 || offset > buffer.capacity() - FRAME_HEADER_SIZE || buffer.getInt(offset) != FRAME_MAGIC) {
+            throw new IOException("Missing record frame at " + offset);
+        }
+        int length = buffer.getInt(offset + 4);
+        int checksum = buffer.getInt(offset + 8);
+        int payloadStart = offset + FRAME_HEADER_SIZE;
+        if (length < 0 || length > buffer.capacity() - payloadStart) {
+            throw new IOException("Invalid record length at " + offset);
+        }
+        ByteBuffer payload = positionedAt(buffer, payloadStart);
+        payload.limit(payloadStart + length);
+        if (PetRecordCodec.checksum(payload.duplicate()) != checksum) {
+            throw new IOException("Checksum mismatch at " + offset);
+        }
+        return payload;
+    }
+
+    private static ByteBuffer positionedAt(ByteBuffer buffer, int offset) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        return view;
+    }
+
+    private static byte[] copy(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        positionedAt(buffer, from).get(bytes);
+        return bytes;
+    }
+
+    // One PetRecordCodec record per pet, in list order, ready for write
+    public static List<byte[]> encodeRecords(List<Pet> pets) {
+        List<byte[]> records = new ArrayList<>(pets.size());
+        for (Pet pet : pets) {
+            records.add(PetRecordCodec.encode(pet));
+        }
+        return records;
+    }
+
+    public static void write(File file, List<byte[]> records, long epoch) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(0);
+            out.writeInt(records.size());
+            out.writeLong(epoch);
+
+            int offset = HEADER_SIZE + records.size() * 4;
+            for (byte[] record : records) {
+                out.writeInt(offset);
+                offset += FRAME_HEADER_SIZE + record.length;
+            }
+            for (byte[] record : records) {
+                out.writeInt(FRAME_MAGIC);
+                out.writeInt(record.length);
+                out.writeInt(PetRecordCodec.checksum(ByteBuffer.wrap(record)));
+                out.write(record);
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Encapsulation - Append-only record log of pet edits made since the last snapshot.
+ *
+ * Header: magic (int), snapshot epoch (long).
+ *   "PETL" records: op (byte), index (int), length (int), Java-serialized pet
+ *   "PTL2" records: CRC32C (int), op (byte), index (int), length (int), PetRecordCodec record;
+ *                   the checksum covers everything after it
+ *   "PTL3" records: as PTL2, but keyed by pet ID (long) instead of list index
+ *
+ * Only PTL3 is written. Positional logs are still replayed, then folded into a snapshot.
+ */
+class PetChangeLog {
+    private static final int LEGACY_MAGIC = 0x5045544C; // "PETL"
+    private static final int POSITIONAL_MAGIC = 0x50544C32; // "PTL2"
+    private static final int MAGIC = 0x50544C33; // "PTL3"
+    private static final int HEADER_SIZE = 12;
+    private static final int RECORD_HEADER_SIZE = 17;
+
+    static final byte OP_ADD = 1;
+    static final byte OP_UPDATE = 2;
+    static final byte OP_REMOVE = 3;
+
+    private final File file;
+    // Set by replay on the loading thread and by reset on the writer thread
+    private volatile long epoch;
+    private volatile int format;
+
+    PetChangeLog(String fileName) {
+        this.file = new File(fileName);
+    }
+
+    // True when the last replayed log used an older format and should be folded into a snapshot
+    public boolean isLegacyFormat() {
+        return format != 0 && format != MAGIC;
+    }
+
+    // Abstraction - Re-applies every logged edit on top of the snapshot it was written against
+    public int replay(ArrayList<Pet> pets, long snapshotEpoch, PetLoadReport report) {
+        return replay(pets, snapshotEpoch, report, true);
+    }
+
+    /*
+     * With allowPositional false the snapshot is known to be missing records, so
+     * index-based logs are quarantined instead; ID-keyed edits are still safe to apply.
+     */
+    public int replay(ArrayList<Pet> pets, long snapshotEpoch, PetLoadReport report, boolean allowPositional) {
+        this.epoch = snapshotEpoch;
+        this.format = 0;
+        if (!file.exists()) {
+            return 0;
+        }
+
+        ByteBuffer log;
+        try {
+            log = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            System.err.println("Error reading pet log: " + e.getMessage());
+            return 0;
+        }
+        if (log.remaining() < HEADER_SIZE) {
+            return 0;
+        }
+        int magic = log.getInt();
+        if ((magic != MAGIC && magic != POSITIONAL_MAGIC && magic != LEGACY_MAGIC) || log.getLong() != snapshotEpoch) {
+            // Log belongs to an older snapshot that already contains its edits
+            return 0;
+        }
+        format = magic;
+        if (magic != MAGIC && !allowPositional) {
+            quarantine(report);
+            return 0;
+        }
+
+        int recordCount = 0;
+        while (log.hasRemaining()) {
+            int recordStart = log.position();
+            try {
+                if (magic == LEGACY_MAGIC) {
+                    applyLegacyRecord(pets, log);
+                } else {
+                    applyRecord(pets, log, magic == MAGIC);
+                }
+                recordCount++;
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                // Later edits may depend on the damaged one, so none of them are applied
+                byte[] rest = new byte[log.limit() - recordStart];
+                log.position(recordStart);
+                log.get(rest);
+                report.recordLoss(file.getName(), recordStart,
+                        "log replay stopped (" + e.getMessage() + ")", rest);
+                break;
+            }
+        }
+        return recordCount;
+    }
+
+    // Moves the whole log aside when the snapshot it was written against could not be fully read
+    public void quarantine(PetLoadReport report) {
+        try {
+            if (file.exists() && file.length() > HEADER_SIZE) {
+                report.recordLoss(file.getName(), 0, "log not replayed against a damaged catalog",
+                        Files.readAllBytes(file.toPath()));
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading pet log: " + e.getMessage());
+        }
+    }
+
+    private void applyRecord(ArrayList<Pet> pets, ByteBuffer log, boolean keyedById) throws IOException {
+        int checksum = log.getInt();
+        int bodyStart = log.position();
+        byte op = log.get();
+        long key = keyedById ? log.getLong() : log.getInt();
+        int length = log.getInt();
+        if (length < 0 || length > log.remaining()) {
+            throw new IOException("truncated record");
+        }
+        ByteBuffer body = log.duplicate();
+        body.position(bodyStart);
+        body.limit(log.position() + length);
+        if (PetRecordCodec.checksum(body) != checksum) {
+            throw new IOException("checksum mismatch");
+        }
+        ByteBuffer payload = log.slice();
+        payload.limit(length);
+        log.position(log.position() + length);
+        Pet pet = op == OP_REMOVE ? null : PetRecordCodec.decode(payload);
+        if (keyedById) {
+            applyById(pets, op, key, pet);
+        } else {
+            apply(pets, op, (int) key, pet);
+        }
+    }
+
+    private void applyLegacyRecord(ArrayList<Pet> pets, ByteBuffer log) throws IOException, ClassNotFoundException {
+        byte op = log.get();
+        int index = log.getInt();
+        byte[] payload = new byte[log.getInt()];
+        log.get(payload);
+        apply(pets, op, index, op == OP_REMOVE ? null : deserialize(payload));
+    }
+
+    // Encodes a record on the caller's thread so it captures the pet as it is right now
+    public static byte[] encodeRecord(byte op, long petId, Pet pet) {
+        byte[] payload = pet == null ? new byte[0] : PetRecordCodec.encode(pet);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        record.putInt(0);
+        record.put(op);
+        record.putLong(petId);
+        record.putInt(payload.length);
+        record.put(payload);
+
+        ByteBuffer body = record.duplicate();
+        body.position(4);
+        body.limit(record.capacity());
+        record.putInt(0, PetRecordCodec.checksum(body));
+        return record.array();
+    }
+
+    // Appends a batch of encoded records with a single write and fsync
+    public void appendAll(List<byte[]> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (!file.exists() || file.length() < HEADER_SIZE || isLegacyFormat()) {
+            reset(epoch);
+        }
+        int totalLength = 0;
+        for (byte[] record : records) {
+            totalLength += record.length;
+        }
+        ByteBuffer batch = ByteBuffer.allocate(totalLength);
+        for (byte[] record : records) {
+            batch.put(record);
+        }
+        batch.flip();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(true);
+        }
+    }
+
+    // Starts an empty log bound to the given snapshot
+    public void reset(long snapshotEpoch) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(file);
+             DataOutputStream out = new DataOutputStream(fos)) {
+            out.writeInt(MAGIC);
+            out.writeLong(snapshotEpoch);
+            out.flush();
+            fos.getFD().sync();
+        }
+        this.epoch = snapshotEpoch;
+        this.format = MAGIC;
+    }
+
+    private void apply(ArrayList<Pet> pets, byte op, int index, Pet pet) throws IOException {
+        switch (op) {
+            case OP_ADD:
+                pets.add(pet);
+                break;
+            case OP_UPDATE:
+                pets.set(index, pet);
+                break;
+            case OP_REMOVE:
+                pets.remove(index);
+                break;
+            default:
+                throw new IOException("Unknown log record type " + op);
+        }
+    }
+
+    // An edit to a pet the snapshot no longer has is dropped; the rest of the log still applies
+    private void applyById(ArrayList<Pet> pets, byte op, long petId, Pet pet) throws IOException {
+        int index = -1;
+        for (int i = pets.size() - 1; i >= 0; i--) {
+            if (pets.get(i).getId() == petId) {
+                index = i;
+                break;
+            }
+        }
+        switch (op) {
+            case OP_ADD:
+                if (index == -1) {
+                    pets.add(pet);
+                } else {
+                    pets.set(index, pet);
+                }
+                break;
+            case OP_UPDATE:
+                if (index != -1) {
+                    pets.set(index, pet);
+                }
+                break;
+            case OP_REMOVE:
+                if (index != -1) {
+                    pets.remove(index);
+                }
+                break;
+            default:
+                throw new IOException("Unknown log record type " + op);
+        }
+    }
+
+    private static Pet deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (Pet) ois.readObject();
+        }
+    }
+}
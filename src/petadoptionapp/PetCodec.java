@@ -0,0 +1,27 @@
+package petadoptionapp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Abstraction - Interchangeable whole-catalog serialization formats
+public interface PetCodec {
+    String getName();
+
+    String getFileExtension();
+
+    void write(List<Pet> pets, OutputStream out) throws IOException;
+
+    ArrayList<Pet> read(InputStream in) throws IOException;
+
+    static List<PetCodec> availableCodecs() {
+        return Arrays.asList(
+                new SerializablePetCodec(),
+                new ExternalizablePetCodec(),
+                new BinaryPetCodec(),
+                new JsonPetCodec());
+    }
+}
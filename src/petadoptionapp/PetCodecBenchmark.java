@@ -0,0 +1,337 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Abstraction - Round-trip checks and a size/throughput table for every PetCodec.
+ *
+ * Run from the project folder:
+ *   java -cp <classes> petadoptionapp.PetCodecBenchmark [pet counts...]   (default 1000 100000 1000000)
+ *
+ * First every codec writes and reads back a catalog with awkward values
+ * (quotes, newlines, non-ASCII names, missing gender, every spay status)
+ * and each field is compared. Then the legacy inputs each codec still
+ * accepts are decoded: the free-text description forms of the binary,
+ * Externalizable and JSON codecs, and the original pets.dat for plain
+ * serialization. Finally each codec writes and reads a file of each size.
+ * Exits with status 1 if any pet does not survive unchanged.
+ */
+final class PetCodecBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 100_000, 1_000_000};
+    // Timed runs per codec and size below LARGE_SIZE; the best one is reported
+    private static final int RUNS = 3;
+    private static final int LARGE_SIZE = 1_000_000;
+
+    private static int failures;
+
+    private PetCodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length == 0 ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        System.out.println("Round trips");
+        List<Pet> sample = samplePets();
+        for (PetCodec codec : PetCodec.availableCodecs()) {
+            check(codec.getName(), sample, codec.read(new ByteArrayInputStream(encode(codec, sample))));
+        }
+
+        System.out.println("Legacy inputs");
+        List<Pet> legacy = legacyPets();
+        check("binary (description records)", legacy,
+                new BinaryPetCodec().read(new ByteArrayInputStream(legacyBinary(legacy))));
+        check("externalizable (description list)", legacy, legacyExternalizable(legacy));
+        check("json (description field)", legacy,
+                new JsonPetCodec().read(new ByteArrayInputStream(legacyJson(legacy).getBytes(StandardCharsets.UTF_8))));
+        checkOriginalPetsDat(new File("pets.dat"));
+
+        System.out.println();
+        System.out.printf("%9s  %-15s %13s %9s %10s %10s %12s %12s%n",
+                "pets", "codec", "bytes", "bytes/pet", "write ms", "read ms", "write pets/s", "read pets/s");
+        File file = File.createTempFile("pet-codec-benchmark", ".tmp");
+        file.deleteOnExit();
+        for (int size : sizes) {
+            List<Pet> pets = generatePets(size);
+            for (PetCodec codec : PetCodec.availableCodecs()) {
+                benchmark(codec, pets, file);
+            }
+        }
+        file.delete();
+
+        if (failures > 0) {
+            System.out.println(failures + " round trip(s) failed");
+            System.exit(1);
+        }
+    }
+
+    private static void benchmark(PetCodec codec, List<Pet> pets, File file) throws IOException {
+        long bestWrite = Long.MAX_VALUE;
+        long bestRead = Long.MAX_VALUE;
+        int runs = pets.size() >= LARGE_SIZE ? 1 : RUNS;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                codec.write(pets, out);
+            }
+            bestWrite = Math.min(bestWrite, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<Pet> read;
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                read = codec.read(in);
+            }
+            bestRead = Math.min(bestRead, System.nanoTime() - start);
+            if (read.size() != pets.size()) {
+                System.out.println("  " + codec.getName() + ": read " + read.size() + " of " + pets.size() + " pets");
+                failures++;
+            }
+        }
+        long bytes = file.length();
+        System.out.printf("%9d  %-15s %13d %9.1f %10.1f %10.1f %12.0f %12.0f%n",
+                pets.size(), codec.getName(), bytes, (double) bytes / pets.size(),
+                bestWrite / 1e6, bestRead / 1e6, pets.size() / (bestWrite / 1e9), pets.size() / (bestRead / 1e9));
+    }
+
+    private static byte[] encode(PetCodec codec, List<Pet> pets) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(pets, out);
+        return out.toByteArray();
+    }
+
+    private static void check(String label, List<Pet> expected, List<Pet> actual) {
+        String mismatch = null;
+        if (expected.size() != actual.size()) {
+            mismatch = actual.size() + " pets instead of " + expected.size();
+        }
+        for (int i = 0; mismatch == null && i < expected.size(); i++) {
+            String field = differingField(expected.get(i), actual.get(i));
+            if (field != null) {
+                mismatch = "pet " + i + " (" + expected.get(i).getName() + ") differs in " + field;
+            }
+        }
+        if (mismatch != null) {
+            failures++;
+        }
+        System.out.println("  " + label + ": " + (mismatch == null ? "OK, " + expected.size() + " pets" : "FAILED, " + mismatch));
+    }
+
+    // The pets.dat shipped before typed attributes existed; its pets are compared after a serializable round trip
+    private static void checkOriginalPetsDat(File file) throws IOException {
+        if (!file.isFile()) {
+            System.out.println("  serializable (original pets.dat): skipped, no pets.dat in " + new File("").getAbsolutePath());
+            return;
+        }
+        List<Pet> original;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            original = new SerializablePetCodec().read(in);
+        }
+        int parsed = 0;
+        for (Pet pet : original) {
+            if (!pet.getBreed().isEmpty()) {
+                parsed++;
+            }
+        }
+        System.out.println("  serializable (original pets.dat): " + parsed + " of " + original.size()
+                + " pets have a breed parsed from their description");
+        for (PetCodec codec : PetCodec.availableCodecs()) {
+            check("original pets.dat through " + codec.getName(), original,
+                    codec.read(new ByteArrayInputStream(encode(codec, original))));
+        }
+    }
+
+    private static String differingField(Pet expected, Pet actual) {
+        if (expected.getClass() != actual.getClass()) {
+            return "type";
+        }
+        if (expected.getId() != actual.getId()) {
+            return "id";
+        }
+        if (!Objects.equals(expected.getName(), actual.getName())) {
+            return "name";
+        }
+        if (expected.getAge() != actual.getAge() || expected.getMonths() != actual.getMonths()) {
+            return "age";
+        }
+        if (expected.getGender() != actual.getGender()) {
+            return "gender";
+        }
+        if (!Objects.equals(expected.getImagePath(), actual.getImagePath())) {
+            return "imagePath";
+        }
+        if (!Objects.equals(expected.getColor(), actual.getColor())) {
+            return "color";
+        }
+        if (!Objects.equals(expected.getBreed(), actual.getBreed())) {
+            return "breed";
+        }
+        if (!Objects.equals(expected.getHealthStatus(), actual.getHealthStatus())) {
+            return "healthStatus";
+        }
+        if (expected.getSpayStatus() != actual.getSpayStatus()) {
+            return "spayStatus";
+        }
+        if (!expected.getVaccinations().equals(actual.getVaccinations())) {
+            return "vaccinations";
+        }
+        if (!Objects.equals(expected.getNotes(), actual.getNotes())) {
+            return "notes";
+        }
+        return null;
+    }
+
+    // The default catalog plus pets with values that are easy to get wrong
+    private static List<Pet> samplePets() {
+        List<Pet> pets = new ArrayList<>(PetDataManager.getDefaultPets());
+        Cat quoted = new Cat("Mía \"Boo\" \\ Ñoño 🐾", 0, 11, null, "/resources/cat_ash.png");
+        quoted.setColor("Black,\n\twhite");
+        quoted.setNotes("Line one\r\nLine two \u0001 end");
+        quoted.setSpayStatus(SpayStatus.values()[SpayStatus.values().length - 1]);
+        pets.add(quoted);
+        Dog bare = new Dog("", 15, 0, Gender.values()[0], null);
+        bare.setVaccinations(new LinkedHashSet<>());
+        pets.add(bare);
+        // Past the 64 KB that DataOutput.writeUTF can hold
+        Cat verbose = new Cat("Long notes", 4, 0, Gender.values()[0], "/resources/cat_kitty.png");
+        verbose.setNotes(String.join("\n", Collections.nCopies(5_000, "Needs a quiet home, ñ ✓ 🐾")));
+        pets.add(verbose);
+        for (SpayStatus status : SpayStatus.values()) {
+            Dog dog = new Dog("Status " + status.getLabel(), 3, 2, Gender.values()[Gender.values().length - 1],
+                    "/resources/dog_andy.png");
+            dog.setSpayStatus(status);
+            dog.setVaccinations(new LinkedHashSet<>(Arrays.asList("Rabies", "DHPP", "Bordetella")));
+            pets.add(dog);
+        }
+        for (int i = 0; i < pets.size(); i++) {
+            pets.get(i).setId(i + 1);
+        }
+        return pets;
+    }
+
+    // Pets built from free text, as the legacy formats stored them; ids were not stored then
+    private static List<Pet> legacyPets() {
+        List<Pet> pets = new ArrayList<>();
+        for (Pet pet : PetDataManager.getDefaultPets()) {
+            String gender = pet.getGender() == null ? null : pet.getGender().getLabel();
+            pets.add(pet instanceof Cat
+                    ? new Cat(pet.getName(), pet.getAge(), pet.getMonths(), pet.getDescription(), pet.getImagePath(), gender)
+                    : new Dog(pet.getName(), pet.getAge(), pet.getMonths(), pet.getDescription(), pet.getImagePath(), gender));
+        }
+        return pets;
+    }
+
+    // BinaryPetCodec file whose records use the untyped layout: type, age, months, name, description, imagePath, gender
+    private static byte[] legacyBinary(List<Pet> pets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(ByteBuffer.wrap("PETB".getBytes(StandardCharsets.US_ASCII)).getInt());
+        out.writeInt(pets.size());
+        for (Pet pet : pets) {
+            ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(recordBytes);
+            record.writeByte(pet instanceof Cat ? PetRecordCodec.TYPE_CAT : PetRecordCodec.TYPE_DOG);
+            record.writeInt(pet.getAge());
+            record.writeInt(pet.getMonths());
+            writeLengthPrefixed(record, pet.getName());
+            writeLengthPrefixed(record, pet.getDescription());
+            writeLengthPrefixed(record, pet.getImagePath());
+            writeLengthPrefixed(record, pet.getGender() == null ? null : pet.getGender().getLabel());
+            out.writeInt(recordBytes.size());
+            recordBytes.writeTo(out);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeLengthPrefixed(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    // PetList data in the layout written before typed attributes: count, then cat flag, age, months, name, description, imagePath, gender
+    private static List<Pet> legacyExternalizable(List<Pet> pets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeInt(pets.size());
+            for (Pet pet : pets) {
+                out.writeBoolean(pet instanceof Cat);
+                out.writeInt(pet.getAge());
+                out.writeInt(pet.getMonths());
+                writeOptionalUTF(out, pet.getName());
+                writeOptionalUTF(out, pet.getDescription());
+                writeOptionalUTF(out, pet.getImagePath());
+                writeOptionalUTF(out, pet.getGender() == null ? null : pet.getGender().getLabel());
+            }
+        }
+        ExternalizablePetCodec.PetList list = new ExternalizablePetCodec.PetList();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            list.readExternal(in);
+        }
+        return list.getPets();
+    }
+
+    private static void writeOptionalUTF(ObjectOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    // JSON as written before typed attributes: a "description" field instead of color, breed and the rest
+    private static String legacyJson(List<Pet> pets) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < pets.size(); i++) {
+            Pet pet = pets.get(i);
+            json.append("  {\"type\": ").append(quote(pet instanceof Cat ? "Cat" : "Dog"))
+                    .append(", \"name\": ").append(quote(pet.getName()))
+                    .append(", \"age\": ").append(pet.getAge())
+                    .append(", \"months\": ").append(pet.getMonths())
+                    .append(", \"description\": ").append(quote(pet.getDescription()))
+                    .append(", \"imagePath\": ").append(quote(pet.getImagePath()))
+                    .append(", \"gender\": ").append(quote(pet.getGender() == null ? null : pet.getGender().getLabel()))
+                    .append(i < pets.size() - 1 ? "},\n" : "}\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r") + "\"";
+    }
+
+    // Copies of the default catalog with distinct ids and names, up to the requested size
+    private static List<Pet> generatePets(int size) {
+        List<Pet> defaults = PetDataManager.getDefaultPets();
+        List<Pet> pets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Pet base = defaults.get(i % defaults.size());
+            String name = base.getName() + " " + (i / defaults.size() + 1);
+            Pet pet = base instanceof Cat
+                    ? new Cat(name, base.getAge(), base.getMonths(), base.getGender(), base.getImagePath())
+                    : new Dog(name, base.getAge(), base.getMonths(), base.getGender(), base.getImagePath());
+            pet.setId(i + 1);
+            pet.setColor(base.getColor());
+            pet.setBreed(base.getBreed());
+            pet.setHealthStatus(base.getHealthStatus());
+            pet.setSpayStatus(base.getSpayStatus());
+            pet.setVaccinations(base.getVaccinations());
+            pet.setNotes(base.getNotes());
+            pets.add(pet);
+        }
+        return pets;
+    }
+}
@@ -0,0 +1,343 @@
+package petadoptionapp;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/*
+ * Encapsulation - Column-oriented mirror of the catalog used for filtering.
+ *
+ * Every pet gets an ordinal when it enters the store. Ordinals only grow, so
+ * ordinal order is catalog order, and a removed pet just leaves an empty slot
+ * until the next rebuild. Each attribute lives in its own primitive array
+ * indexed by ordinal, and compressed bitmap indexes over the same ordinals
+ * are updated with every change, as are a full-text index, a name
+ * trigram index and the sorted permutations. Queries are answered with
+ * bitmap AND/OR/NOT; a where(Predicate) condition no index narrows is
+ * tested pet by pet, in parallel chunks once the catalog reaches
+ * PARALLEL_THRESHOLD.
+ */
+class PetColumnStore {
+    private static final byte NO_TYPE = 0;
+    private static final byte NO_GENDER = 0;
+    private static final int NO_BREED = AttributeDictionary.NO_VALUE;
+    // Catalogs at least this large are scanned in parallel chunks
+    static final int PARALLEL_THRESHOLD = 100_000;
+    private static final int CHUNK_SIZE = 32_768;
+
+    private Pet[] pets = new Pet[0];
+    private byte[] types = new byte[0];
+    private byte[] genders = new byte[0];
+    private byte[] spayStatuses = new byte[0];
+    private int[] breedIds = new int[0];
+    private int nextOrdinal;
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private PetAttributeIndex index = new PetAttributeIndex();
+    private PetTextIndex text = new PetTextIndex();
+    private PetSortIndex sorts = new PetSortIndex(petsByOrdinal());
+    // Type-ahead threads read this without other locking, so replacing it must be visible to them
+    private volatile PetNameIndex names = new PetNameIndex();
+    private CompressedBitmap live = new CompressedBitmap();
+
+    // Replaces every column from the given catalog; ordinals restart from 0
+    public void rebuild(List<Pet> catalog) {
+        int capacity = Math.max(16, catalog.size());
+        pets = new Pet[capacity];
+        types = new byte[capacity];
+        genders = new byte[capacity];
+        spayStatuses = new byte[capacity];
+        breedIds = new int[capacity];
+        nextOrdinal = 0;
+        ordinalsById.clear();
+        index = new PetAttributeIndex();
+        text = new PetTextIndex();
+        sorts = new PetSortIndex(petsByOrdinal());
+        names = new PetNameIndex();
+        live = new CompressedBitmap();
+        for (Pet pet : catalog) {
+            add(pet);
+        }
+    }
+
+    public int size() {
+        return ordinalsById.size();
+    }
+
+    public void add(Pet pet) {
+        if (nextOrdinal == types.length) {
+            int capacity = Math.max(16, nextOrdinal * 2);
+            pets = Arrays.copyOf(pets, capacity);
+            types = Arrays.copyOf(types, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+            spayStatuses = Arrays.copyOf(spayStatuses, capacity);
+            breedIds = Arrays.copyOf(breedIds, capacity);
+        }
+        int ordinal = nextOrdinal++;
+        ordinalsById.put(pet.getId(), ordinal);
+        live.add(ordinal);
+        write(ordinal, pet);
+    }
+
+    // Re-reads an edited pet's attributes into its existing slot
+    public void update(Pet pet) {
+        Integer ordinal = ordinalsById.get(pet.getId());
+        if (ordinal != null) {
+            unindex(ordinal);
+            write(ordinal, pet);
+        }
+    }
+
+    public void remove(Pet pet) {
+        Integer ordinal = ordinalsById.remove(pet.getId());
+        if (ordinal != null) {
+            unindex(ordinal);
+            live.remove(ordinal);
+            pets[ordinal] = null;
+            types[ordinal] = NO_TYPE;
+        }
+    }
+
+    private void write(int ordinal, Pet pet) {
+        pets[ordinal] = pet;
+        types[ordinal] = typeCode(pet.getClass());
+        genders[ordinal] = genderCode(pet.getGender());
+        spayStatuses[ordinal] = (byte) pet.getSpayStatus().ordinal();
+        breedIds[ordinal] = pet.getBreedCode();
+        index.add(ordinal, types[ordinal], genders[ordinal], breedIds[ordinal], spayStatuses[ordinal],
+                pet.hasSpecialNeeds());
+        text.add(ordinal, pet);
+        sorts.add(ordinal, pet);
+        names.add(ordinal, pet);
+    }
+
+    private void unindex(int ordinal) {
+        index.remove(ordinal, types[ordinal], genders[ordinal], breedIds[ordinal], spayStatuses[ordinal]);
+        text.remove(ordinal);
+        sorts.remove(ordinal);
+        names.remove(ordinal);
+    }
+
+    // Read-only view from ordinal to pet; empty slots read as null
+    public List<Pet> petsByOrdinal() {
+        return new AbstractList<Pet>() {
+            @Override
+            public Pet get(int ordinal) {
+                return pets[ordinal];
+            }
+
+            @Override
+            public int size() {
+                return nextOrdinal;
+            }
+        };
+    }
+
+    // Returns the matching ordinals in catalog order
+    public int[] select(PetIndexQuery query) {
+        return query.evaluate(this).toArray();
+    }
+
+    // Ranked full-text search within the query's matches; a blank search text falls back to select
+    public int[] search(String searchText, PetIndexQuery query) {
+        int[] ranked = text.search(searchText, query == PetIndexQuery.all() ? null : query.evaluate(this));
+        return ranked != null ? ranked : select(query);
+    }
+
+    // Fuzzy name suggestions; safe to call off the EDT
+    public List<Pet> suggestNames(String query, int limit) {
+        return names.suggest(query, limit);
+    }
+
+    // Pages through the query's matches (narrowed by search text, if any) in a sorted order
+    public PetSortIndex.Walk sortedWalk(PetSortOrder order, PetIndexQuery query, String searchText) {
+        return sorts.walk(order, matches(query, searchText));
+    }
+
+    // Walks the given ordinals in a sorted order; null matches walks every live pet
+    PetSortIndex.Walk sortedWalk(PetSortOrder order, CompressedBitmap matches) {
+        return sorts.walk(order, matches);
+    }
+
+    // The query's matches narrowed by search text; null stands for every live pet
+    private CompressedBitmap matches(PetIndexQuery query, String searchText) {
+        CompressedBitmap matches = query == PetIndexQuery.all() ? null : query.evaluate(this);
+        int[] searched = text.search(searchText, matches);
+        if (searched != null) {
+            Arrays.sort(searched);
+            matches = new CompressedBitmap();
+            for (int ordinal : searched) {
+                matches.add(ordinal);
+            }
+        }
+        return matches;
+    }
+
+    public int[] select(PetFilter filter) {
+        return select(filter.toQuery());
+    }
+
+    // Bitmap sources for PetIndexQuery terms; callers must not modify them
+    CompressedBitmap allRows() {
+        return live;
+    }
+
+    CompressedBitmap typeRows(Class<? extends Pet> type) {
+        if (type == Pet.class) {
+            return live;
+        }
+        byte code = typeCode(type);
+        return code == NO_TYPE ? new CompressedBitmap() : index.type(code);
+    }
+
+    CompressedBitmap genderRows(Gender gender) {
+        return index.gender(genderCode(gender));
+    }
+
+    CompressedBitmap breedRows(String breed) {
+        int code = breedCode(breed);
+        return code == NO_BREED ? new CompressedBitmap() : index.breed(code);
+    }
+
+    CompressedBitmap spayStatusRows(SpayStatus status) {
+        return index.spayStatus((byte) status.ordinal());
+    }
+
+    CompressedBitmap specialNeedsRows() {
+        return index.specialNeeds();
+    }
+
+    // Binary search on the sorted age permutation; only the ordinals inside the range are touched
+    CompressedBitmap ageRows(int minAge, int maxAge) {
+        int[] ordinals = sorts.ordinalsInAgeRange(minAge, maxAge);
+        Arrays.sort(ordinals);
+        CompressedBitmap result = new CompressedBitmap();
+        for (int ordinal : ordinals) {
+            result.add(ordinal);
+        }
+        return result;
+    }
+
+    /*
+     * Counts every facet in one pass over the pets within the filter's age
+     * range and the search text. Each pet is checked against the type,
+     * gender, breed and spay selections once, and counted in a facet when it
+     * passes all the other three.
+     */
+    public PetFacetCounts facetCounts(PetFilter filter, String searchText) {
+        PetIndexQuery ageQuery = filter.getMinAgeMonths() > 0 || filter.getMaxAgeMonths() < Integer.MAX_VALUE
+                ? PetIndexQuery.ageMonths(filter.getMinAgeMonths(), filter.getMaxAgeMonths())
+                : PetIndexQuery.all();
+        CompressedBitmap matches = matches(ageQuery, searchText);
+        int[] ordinals = matches == null ? live.toArray() : matches.toArray();
+
+        int type = filter.getType() == null || filter.getType() == Pet.class ? -1 : typeCode(filter.getType());
+        int gender = filter.getGender() == null ? -1 : genderCode(filter.getGender());
+        boolean anyBreed = filter.getBreed() == null;
+        // A breed missing from the dictionary matches no pet, rather than every pet
+        int breed = anyBreed ? NO_BREED : breedCode(filter.getBreed());
+        int spayStatus = filter.getSpayStatus() == null ? -1 : filter.getSpayStatus().ordinal();
+
+        int[] typeCounts = new int[3];
+        int[] genderCounts = new int[Gender.values().length + 1];
+        int[] spayStatusCounts = new int[SpayStatus.values().length];
+        int[] breedCounts = new int[AttributeDictionary.STRINGS.size()];
+        for (int ordinal : ordinals) {
+            boolean typeMatches = type == -1 || types[ordinal] == type;
+            boolean genderMatches = gender == -1 || genders[ordinal] == gender;
+            boolean breedMatches = anyBreed || (breed != NO_BREED && breedIds[ordinal] == breed);
+            boolean spayMatches = spayStatus == -1 || spayStatuses[ordinal] == spayStatus;
+            if (genderMatches && breedMatches && spayMatches) {
+                typeCounts[types[ordinal]]++;
+            }
+            if (typeMatches && breedMatches && spayMatches) {
+                genderCounts[genders[ordinal]]++;
+            }
+            if (typeMatches && genderMatches && spayMatches && breedIds[ordinal] >= 0) {
+                breedCounts[breedIds[ordinal]]++;
+            }
+            if (typeMatches && genderMatches && breedMatches) {
+                spayStatusCounts[spayStatuses[ordinal]]++;
+            }
+        }
+        return new PetFacetCounts(typeCounts, genderCounts, spayStatusCounts, breedCounts);
+    }
+
+    // Ascending ages of the matches, for counting age ranges by binary search
+    public PetAgeCounter ageCounter(PetIndexQuery query, String searchText) {
+        return new PetAgeCounter(sorts.agesInOrder(matches(query, searchText)));
+    }
+
+    // Tests an arbitrary predicate against every live pet, split into fork-join chunks when parallel
+    int[] scan(Predicate<Pet> predicate, boolean parallel) {
+        return parallel ? inParallelChunks((from, to) -> scan(predicate, from, to)) : scan(predicate, 0, nextOrdinal);
+    }
+
+    private int[] scan(Predicate<Pet> predicate, int from, int to) {
+        Pet[] pets = this.pets;
+        int[] rows = new int[Math.min(to - from, 1024)];
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (pets[row] != null && predicate.test(pets[row])) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, Math.min(to - from, count * 2));
+                }
+                rows[count++] = row;
+            }
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    // Abstraction - Matching ordinals within one slice of the columns
+    private interface RangeScan {
+        int[] scan(int from, int to);
+    }
+
+    // Runs the scan over fixed-size chunks on the common fork-join pool and joins them in ordinal order
+    private int[] inParallelChunks(RangeScan rangeScan) {
+        int end = nextOrdinal;
+        int chunks = (end + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[][] matches = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> rangeScan.scan(chunk * CHUNK_SIZE, Math.min(end, (chunk + 1) * CHUNK_SIZE)))
+                .toArray(int[][]::new);
+        int total = 0;
+        for (int[] chunk : matches) {
+            total += chunk.length;
+        }
+        int[] rows = new int[total];
+        int position = 0;
+        for (int[] chunk : matches) {
+            System.arraycopy(chunk, 0, rows, position, chunk.length);
+            position += chunk.length;
+        }
+        return rows;
+    }
+
+    // Approximate heap held by the bitmap indexes
+    long indexSizeInBytes() {
+        return index.sizeInBytes() + live.sizeInBytes();
+    }
+
+    static int ageInMonths(Pet pet) {
+        return pet.getAge() * 12 + pet.getMonths();
+    }
+
+    private static byte typeCode(Class<?> type) {
+        if (Cat.class.isAssignableFrom(type)) {
+            return PetRecordCodec.TYPE_CAT;
+        }
+        return Dog.class.isAssignableFrom(type) ? PetRecordCodec.TYPE_DOG : NO_TYPE;
+    }
+
+    private static byte genderCode(Gender gender) {
+        return gender == null ? NO_GENDER : (byte) (gender.ordinal() + 1);
+    }
+
+    // Looks a breed up without adding it to the dictionary
+    private static int breedCode(String breed) {
+        return AttributeDictionary.STRINGS.find(breed);
+    }
+}
@@ -0,0 +1,128 @@
+package petadoptionapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+// Encapsulation - Forward-only cursor that pages through matching pets without copying the catalog
+public class PetCursor {
+    private final List<Pet> source;
+    private final Predicate<Pet> filter;
+    // Pre-selected positions in source; when set, the cursor walks these instead of the whole list
+    private final int[] rows;
+    // Sorted positions produced on demand; when set, the cursor pulls from this instead
+    private final OrdinalWalk walk;
+    private final int pageSize;
+    private int scanPosition;
+    private int returnedCount;
+    // Position taken from the walk but not yet returned, or -1
+    private int walkPending = -1;
+    // Pets still allowed by limit(), skipped ones included
+    private int remaining = Integer.MAX_VALUE;
+
+    // Abstraction - Source of positions in source, in order; -1 when there are no more
+    interface OrdinalWalk {
+        int nextOrdinal();
+    }
+
+    PetCursor(List<Pet> source, Predicate<Pet> filter, int pageSize) {
+        this(source, filter, null, null, pageSize);
+    }
+
+    PetCursor(List<Pet> source, int[] rows, int pageSize) {
+        this(source, null, rows, null, pageSize);
+    }
+
+    PetCursor(List<Pet> source, OrdinalWalk walk, int pageSize) {
+        this(source, null, null, walk, pageSize);
+    }
+
+    private PetCursor(List<Pet> source, Predicate<Pet> filter, int[] rows, OrdinalWalk walk, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.source = source;
+        this.filter = filter;
+        this.rows = rows;
+        this.walk = walk;
+        this.pageSize = pageSize;
+    }
+
+    // Skips the given number of matching pets, e.g. to resume at an offset
+    public PetCursor skip(int count) {
+        while (count > 0 && advanceToMatch()) {
+            if (source.get(consume()) != null) {
+                count--;
+                remaining--;
+            }
+        }
+        return this;
+    }
+
+    // Ends the cursor after this many pets from its start; removed pets do not count
+    PetCursor limit(int count) {
+        remaining = count;
+        return this;
+    }
+
+    public boolean hasMore() {
+        return advanceToMatch();
+    }
+
+    // Each call resumes where the previous page stopped instead of rescanning from the start
+    public List<Pet> nextPage() {
+        List<Pet> page = new ArrayList<>(walk != null ? pageSize : Math.min(pageSize, length() - scanPosition));
+        while (page.size() < pageSize && advanceToMatch()) {
+            Pet pet = source.get(consume());
+            // A pet removed after the rows were selected leaves an empty slot
+            if (pet != null) {
+                page.add(pet);
+                remaining--;
+            }
+        }
+        returnedCount += page.size();
+        return page;
+    }
+
+    public int getReturnedCount() {
+        return returnedCount;
+    }
+
+    private int length() {
+        return rows == null ? source.size() : rows.length;
+    }
+
+    // Returns the source position of the current match and moves past it
+    private int consume() {
+        if (walk != null) {
+            int ordinal = walkPending;
+            walkPending = -1;
+            return ordinal;
+        }
+        int position = rows == null ? scanPosition : rows[scanPosition];
+        scanPosition++;
+        return position;
+    }
+
+    private boolean advanceToMatch() {
+        if (remaining <= 0) {
+            return false;
+        }
+        if (walk != null) {
+            if (walkPending < 0) {
+                walkPending = walk.nextOrdinal();
+            }
+            return walkPending >= 0;
+        }
+        if (rows != null) {
+            return scanPosition < rows.length;
+        }
+        while (scanPosition < source.size()) {
+            if (filter == null || filter.test(source.get(scanPosition))) {
+                return true;
+            }
+            scanPosition++;
+        }
+        return false;
+    }
+}
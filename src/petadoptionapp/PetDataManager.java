@@ -1,38 +1,294 @@
 package petadoptionapp;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 // Encapsulation - Manages all pet data operations
 public class PetDataManager {
-    private static final String FILE_NAME = "pets.dat";
+    // Selects the storage codec, e.g. -Dpetadoptionapp.codec=json; the binary catalog is used by default
+    private static final String CODEC_PROPERTY = "petadoptionapp.codec";
+
+    private static PetRepository repository = createRepository(System.getProperty(CODEC_PROPERTY));
+    private static ArrayList<Pet> pets;
+    // Mirrors pets in primitive columns and bitmap indexes so filters never walk Pet objects
+    private static final PetColumnStore columns = new PetColumnStore();
+    // Encapsulation - ID index for constant-time lookup; new IDs continue from the highest loaded one
+    private static final Map<Long, Pet> petsById = new HashMap<>();
+    private static long lastAssignedId;
+    // Recently shown grid results by filter tuple; each edit drops only the entries it affects
+    private static final PetResultCache resultCache = new PetResultCache();
+
+    // Polymorphism - Every storage format is used through the same PetRepository interface
+    static PetRepository createRepository(String codecName) {
+        if (codecName == null || codecName.isEmpty() || codecName.equals("catalog")) {
+            return new CatalogPetRepository();
+        }
+        for (PetCodec codec : PetCodec.availableCodecs()) {
+            if (codec.getName().equals(codecName)) {
+                return new CodecPetRepository(codec, new File("pets." + codec.getFileExtension()));
+            }
+        }
+        throw new IllegalArgumentException("Unknown pet codec: " + codecName);
+    }
+
+    public static void setRepository(PetRepository petRepository) {
+        repository = petRepository;
+        pets = null;
+        resultCache.clear();
+    }
 
     // Abstraction - Hides file loading complexity
     public static ArrayList<Pet> loadPets() {
-        ArrayList<Pet> pets = new ArrayList<>();
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_NAME))) {
-            pets = (ArrayList<Pet>) ois.readObject();
-        } catch (FileNotFoundException e) {
-            pets = getDefaultPets();
-            savePets(pets);
-        } catch (IOException | ClassNotFoundException e) {
-            pets = getDefaultPets();
-            savePets(pets);
+        pets = repository.loadPets();
+        if (indexIds(pets)) {
+            // Pets from files written before IDs existed are given one, then saved with it
+            repository.savePets(pets);
         }
+        columns.rebuild(pets);
+        resultCache.clear();
         return pets;
     }
 
-    // Encapsulation - Private helper method for data persistence
-    public static void savePets(ArrayList<Pet> pets) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_NAME))) {
-            oos.writeObject(pets);
-        } catch (IOException e) {
-            System.err.println("Error saving pets: " + e.getMessage());
+    // Rebuilds the ID index; returns true if any pet had to be given a new ID
+    private static boolean indexIds(List<Pet> loaded) {
+        petsById.clear();
+        lastAssignedId = 0;
+        for (Pet pet : loaded) {
+            lastAssignedId = Math.max(lastAssignedId, pet.getId());
+        }
+        boolean assigned = false;
+        for (Pet pet : loaded) {
+            if (pet.getId() <= 0 || petsById.containsKey(pet.getId())) {
+                pet.setId(++lastAssignedId);
+                assigned = true;
+            }
+            petsById.put(pet.getId(), pet);
+        }
+        return assigned;
+    }
+
+    // The catalog is owned here; UI classes read it through cursors and streams
+    private static ArrayList<Pet> pets() {
+        if (pets == null) {
+            loadPets();
+        }
+        return pets;
+    }
+
+    public static PetLoadReport getLastLoadReport() {
+        return repository.getLastLoadReport();
+    }
+
+    public static Pet getPet(long id) {
+        pets();
+        return petsById.get(id);
+    }
+
+    public static int countPets() {
+        return pets().size();
+    }
+
+    public static Stream<Pet> streamPets() {
+        return pets().stream();
+    }
+
+    // Predicate push-down: only matching pets inside the requested window are returned
+    public static List<Pet> queryPets(Predicate<Pet> filter, int offset, int limit) {
+        return openCursor(filter, limit).skip(offset).nextPage();
+    }
+
+    public static PetCursor openCursor(Predicate<Pet> filter, int pageSize) {
+        return new PetCursor(pets(), filter, pageSize);
+    }
+
+    // Evaluated on the bitmap indexes; only the matching pets are ever touched
+    public static PetCursor openCursor(PetIndexQuery query, int pageSize) {
+        pets();
+        return new PetCursor(columns.petsByOrdinal(), columns.select(query), pageSize);
+    }
+
+    // Full-text search over names and descriptions, best matches first
+    public static PetCursor openCursor(PetIndexQuery query, String searchText, int pageSize) {
+        pets();
+        return new PetCursor(columns.petsByOrdinal(), columns.search(searchText, query), pageSize);
+    }
+
+    // Sorted pages from a precomputed permutation; the default order keeps search ranking
+    public static PetCursor openCursor(PetIndexQuery query, String searchText, PetSortOrder order, int pageSize) {
+        if (order == PetSortOrder.CATALOG) {
+            return openCursor(query, searchText, pageSize);
+        }
+        pets();
+        return new PetCursor(columns.petsByOrdinal(), columns.sortedWalk(order, query, searchText), pageSize);
+    }
+
+    /*
+     * Runs a PetQuery through PetQueryPlanner; the grid, the admin list and
+     * exports all read pets this way. Sorted filter tuples page straight
+     * off the keyset walk, so opening one costs a page rather than the
+     * whole match list. Unsorted ones reuse the matching IDs from the
+     * result cache when the same tuple was read before.
+     */
+    public static PetCursor openCursor(PetQuery query, int pageSize) {
+        pets();
+        if (!query.isFilterTuple()) {
+            return new PetCursor(columns.petsByOrdinal(), planFor(query).execute(columns), pageSize);
+        }
+        if (query.getSortOrder() != PetSortOrder.CATALOG) {
+            return openCursor(query.indexedCriteria(), query.getSearchText(), query.getSortOrder(), pageSize)
+                    .limit(query.getLimit());
+        }
+        long[] ids = resultCache.get(query.getFilter(), query.getSearchText(), query.getSortOrder());
+        if (ids == null) {
+            ids = idsOf(planFor(PetQuery.from(query.getFilter())
+                    .matching(query.getSearchText())
+                    .sortedBy(query.getSortOrder())).execute(columns));
+            resultCache.put(query.getFilter(), query.getSearchText(), query.getSortOrder(), ids);
+        }
+        long[] shown = ids;
+        // Looks pets up as pages are read; a pet removed meanwhile reads as null and is skipped before the limit counts it
+        List<Pet> view = new AbstractList<Pet>() {
+            @Override
+            public Pet get(int index) {
+                return petsById.get(shown[index]);
+            }
+
+            @Override
+            public int size() {
+                return shown.length;
+            }
+        };
+        return new PetCursor(view, Objects::nonNull, pageSize).limit(query.getLimit());
+    }
+
+    // Every pet the query selects, in its order
+    public static List<Pet> findPets(PetQuery query) {
+        pets();
+        List<Pet> byOrdinal = columns.petsByOrdinal();
+        int[] ordinals = planFor(query).execute(columns);
+        List<Pet> found = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            found.add(byOrdinal.get(ordinal));
         }
+        return found;
+    }
+
+    // Writes the selected pets in any codec's format, e.g. a JSON export of the adoptable dogs
+    public static void exportPets(PetQuery query, PetCodec codec, OutputStream out) throws IOException {
+        codec.write(findPets(query), out);
+    }
+
+    // Names the strategy the planner would use, e.g. "INDEX_THEN_FILTER NAME limit 20"
+    public static String explain(PetQuery query) {
+        pets();
+        return planFor(query).toString();
+    }
+
+    private static PetQueryPlanner.Plan planFor(PetQuery query) {
+        return PetQueryPlanner.plan(query, columns.size());
+    }
+
+    private static long[] idsOf(int[] ordinals) {
+        List<Pet> byOrdinal = columns.petsByOrdinal();
+        long[] ids = new long[ordinals.length];
+        int count = 0;
+        for (int ordinal : ordinals) {
+            Pet pet = byOrdinal.get(ordinal);
+            if (pet != null) {
+                ids[count++] = pet.getId();
+            }
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    public static PetResultCache getResultCache() {
+        return resultCache;
+    }
+
+    // Typo-tolerant name type-ahead, closest names first; may be called from a background thread
+    public static List<Pet> suggestPetNames(String query, int limit) {
+        return columns.suggestNames(query, limit);
+    }
+
+    public static PetCursor openCursor(PetFilter filter, int pageSize) {
+        return openCursor(filter.toQuery(), pageSize);
+    }
+
+    public static int countPets(PetIndexQuery query) {
+        pets();
+        return query.evaluate(columns).cardinality();
+    }
+
+    // Per-option counts for the type, gender, breed and spay dropdowns
+    public static PetFacetCounts countFacets(PetFilter filter, String searchText) {
+        pets();
+        PetFacetCounts counts = resultCache.getFacets(filter, searchText);
+        if (counts == null) {
+            counts = columns.facetCounts(filter, searchText);
+            resultCache.putFacets(filter, searchText, counts);
+        }
+        return counts;
+    }
+
+    // Counts for any age range among the matches, without touching the catalog again
+    public static PetAgeCounter openAgeCounter(PetIndexQuery query, String searchText) {
+        pets();
+        return columns.ageCounter(query, searchText);
+    }
+
+    public static int countPets(PetFilter filter) {
+        return countPets(filter.toQuery());
+    }
+
+    // Encapsulation - Each edit is handed to the repository, which decides how to persist it
+    public static CompletableFuture<Void> addPet(Pet pet) {
+        pets();
+        pet.setId(++lastAssignedId);
+        petsById.put(pet.getId(), pet);
+        pets.add(pet);
+        columns.add(pet);
+        resultCache.invalidate(pet);
+        return repository.recordAdd(pets, pet);
+    }
+
+    public static CompletableFuture<Void> updatePet(Pet pet) {
+        if (getPet(pet.getId()) != pet) {
+            return CompletableFuture.completedFuture(null);
+        }
+        columns.update(pet);
+        resultCache.invalidate(pet);
+        resultCache.invalidateFacets();
+        return repository.recordUpdate(pets, pet);
+    }
+
+    public static CompletableFuture<Void> removePet(Pet pet) {
+        if (getPet(pet.getId()) != pet) {
+            return CompletableFuture.completedFuture(null);
+        }
+        petsById.remove(pet.getId());
+        pets.remove(pet);
+        columns.remove(pet);
+        resultCache.invalidate(pet);
+        return repository.recordRemove(pets, pet);
+    }
+
+    public static CompletableFuture<Void> savePets() {
+        return repository.savePets(pets());
     }
 
     // Polymorphism - Returns ArrayList<Pet> containing both Cats and Dogs
-    private static ArrayList<Pet> getDefaultPets() {
+    static ArrayList<Pet> getDefaultPets() {
         ArrayList<Pet> defaultPets = new ArrayList<>();
 
         // Inheritance - Creating instances of subclasses (Cat/Dog)
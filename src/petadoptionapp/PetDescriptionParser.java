@@ -0,0 +1,93 @@
+package petadoptionapp;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/*
+ * Encapsulation - Converts between the labelled free-text description used by
+ * older data ("Color: ...", "Breed: ...", ...) and the typed attributes on Pet.
+ */
+class PetDescriptionParser {
+    private static final String COLOR = "Color:";
+    private static final String BREED = "Breed:";
+    private static final String HEALTH_STATUS = "Health Status:";
+    private static final String SPAYED_NEUTERED = "Spayed/Neutered:";
+    private static final String VACCINATIONS = "Vaccinations & Deworm:";
+    private static final String DESCRIPTION = "Description:";
+
+    private PetDescriptionParser() {
+    }
+
+    // Lines without a known label are kept as part of the notes
+    static void parseInto(Pet pet, String description) {
+        String notes = null;
+        StringBuilder remainingDescription = new StringBuilder();
+        if (description != null) {
+            for (String line : description.split("\n")) {
+                if (line.startsWith(COLOR)) {
+                    pet.setColor(valueOf(line, COLOR));
+                } else if (line.startsWith(BREED)) {
+                    pet.setBreed(valueOf(line, BREED));
+                } else if (line.startsWith(HEALTH_STATUS)) {
+                    pet.setHealthStatus(valueOf(line, HEALTH_STATUS));
+                } else if (line.startsWith(SPAYED_NEUTERED)) {
+                    pet.setSpayStatus(SpayStatus.fromLabel(valueOf(line, SPAYED_NEUTERED)));
+                } else if (line.startsWith(VACCINATIONS)) {
+                    pet.setVaccinations(parseVaccinations(valueOf(line, VACCINATIONS)));
+                } else if (line.startsWith(DESCRIPTION)) {
+                    notes = valueOf(line, DESCRIPTION);
+                } else {
+                    if (remainingDescription.length() > 0) remainingDescription.append("\n");
+                    remainingDescription.append(line);
+                }
+            }
+        }
+        String remaining = remainingDescription.toString().trim();
+        if (notes == null) {
+            notes = remaining;
+        } else if (!remaining.isEmpty()) {
+            notes = notes + "\n" + remaining;
+        }
+        pet.setNotes(notes);
+    }
+
+    // Builds the text shown on the details dialog, in the same layout the admin form used to save
+    static String format(Pet pet) {
+        StringBuilder fullDescription = new StringBuilder();
+        appendLine(fullDescription, COLOR, pet.getColor());
+        appendLine(fullDescription, BREED, pet.getBreed());
+        appendLine(fullDescription, HEALTH_STATUS, pet.getHealthStatus());
+        appendLine(fullDescription, SPAYED_NEUTERED, pet.getSpayStatus().getLabel());
+        appendLine(fullDescription, VACCINATIONS, formatVaccinations(pet.getVaccinations()));
+        appendLine(fullDescription, DESCRIPTION, pet.getNotes());
+        return fullDescription.toString().trim();
+    }
+
+    // Splits "Anti-rabies, 8-in-1 & Oral Deworm" into its individual entries
+    static Set<String> parseVaccinations(String text) {
+        Set<String> vaccinations = new LinkedHashSet<>();
+        if (text != null) {
+            for (String entry : text.split(",|&|\\band\\b")) {
+                String trimmed = entry.trim();
+                if (!trimmed.isEmpty()) {
+                    vaccinations.add(trimmed);
+                }
+            }
+        }
+        return vaccinations;
+    }
+
+    static String formatVaccinations(Set<String> vaccinations) {
+        return String.join(", ", vaccinations);
+    }
+
+    private static String valueOf(String line, String label) {
+        return line.substring(label.length()).trim();
+    }
+
+    private static void appendLine(StringBuilder text, String label, String value) {
+        if (value != null && !value.isEmpty()) {
+            text.append(label).append(" ").append(value).append("\n");
+        }
+    }
+}
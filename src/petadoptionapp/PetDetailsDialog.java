@@ -6,6 +6,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.net.URI;
+import java.net.URL;
 import java.awt.Desktop;
 import java.awt.geom.RoundRectangle2D;
 import javax.swing.plaf.basic.BasicButtonUI;
@@ -39,6 +40,9 @@ public class PetDetailsDialog extends JDialog {
     private static final String DONATE_URL = "https://docs.google.com/forms/d/e/1FAIpQLSda_jQUn0XWPIzr3Eli5bVkoWOW10H_VVsiQDWC-dWoHyiPMQ/viewform?usp=sharing&ouid=108321204493867680753";
     private static final String ADOPT_URL = "https://docs.google.com/forms/d/e/1FAIpQLSfid0_HZ6eX5P7FRYnQ2NTmOALPW6lwjK5EKyP-n515s8tbMQ/viewform?usp=sharing&ouid=108321204493867680753";
 
+    // Photo still being decoded for this dialog, if any
+    private PetImageLoader.Request imageRequest;
+
     // Encapsulation - Controls how dialog is created and set up
     public PetDetailsDialog(Frame owner, Pet pet) {
         super(owner, "Details for " + pet.getName(), true);
@@ -76,14 +80,14 @@ public class PetDetailsDialog extends JDialog {
                                          DIALOG_BORDER_PADDING, DIALOG_BORDER_PADDING));
 
         JLabel petImageLabel = new JLabel();
-        try {
-            ImageIcon originalIcon = new ImageIcon(getClass().getResource(pet.getImagePath()));
-            Image scaledImage = originalIcon.getImage().getScaledInstance(PET_IMAGE_SIZE, PET_IMAGE_SIZE, Image.SCALE_SMOOTH);
-            petImageLabel.setIcon(new ImageIcon(scaledImage));
-        } catch (Exception ex) {
-            petImageLabel.setText("No Image Available");
-            petImageLabel.setFont(FONT_IMAGE_ERROR);
-            petImageLabel.setForeground(ERROR_TEXT_GREY);
+        URL imageUrl = getClass().getResource(pet.getImagePath());
+        if (imageUrl != null) {
+            // The dialog opens with a placeholder, then a coarse preview until the photo is decoded off the EDT
+            petImageLabel.setIcon(PetImageLoader.placeholder(PET_IMAGE_SIZE, PET_IMAGE_SIZE));
+            imageRequest = PetImageLoader.load(imageUrl, PET_IMAGE_SIZE, PET_IMAGE_SIZE, petImageLabel::setIcon,
+                    petImageLabel::setIcon, () -> showNoImage(petImageLabel));
+        } else {
+            showNoImage(petImageLabel);
         }
         petImageLabel.setHorizontalAlignment(SwingConstants.CENTER);
         petImageLabel.setBorder(new EmptyBorder(0, 0, 25, 0));
@@ -194,6 +198,22 @@ public class PetDetailsDialog extends JDialog {
         setContentPane(mainPanel);
     }
 
+    // A photo still decoding when the dialog closes is abandoned
+    @Override
+    public void dispose() {
+        if (imageRequest != null) {
+            imageRequest.cancel();
+        }
+        super.dispose();
+    }
+
+    private void showNoImage(JLabel petImageLabel) {
+        petImageLabel.setIcon(null);
+        petImageLabel.setText("No Image Available");
+        petImageLabel.setFont(FONT_IMAGE_ERROR);
+        petImageLabel.setForeground(ERROR_TEXT_GREY);
+    }
+
     // Encapsulation - Private helper method
     private String toHtmlColor(Color color) {
         return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
@@ -0,0 +1,66 @@
+package petadoptionapp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Encapsulation - How many pets each filter option would show.
+ *
+ * Each facet is counted with every other selected filter applied but not its
+ * own, so "Dog (14)" is what choosing Dog would show with the current
+ * gender, breed and spay selections. PetColumnStore fills all four facets
+ * in one pass over the pets that match the age range and search text.
+ */
+public final class PetFacetCounts {
+    private final int[] typeCounts;
+    private final int[] genderCounts;
+    private final int[] spayStatusCounts;
+    private final int[] breedCounts;
+    private final int[] totals = new int[4];
+
+    PetFacetCounts(int[] typeCounts, int[] genderCounts, int[] spayStatusCounts, int[] breedCounts) {
+        this.typeCounts = typeCounts;
+        this.genderCounts = genderCounts;
+        this.spayStatusCounts = spayStatusCounts;
+        this.breedCounts = breedCounts;
+        int[][] facets = {typeCounts, genderCounts, spayStatusCounts, breedCounts};
+        for (int facet = 0; facet < facets.length; facet++) {
+            for (int count : facets[facet]) {
+                totals[facet] += count;
+            }
+        }
+    }
+
+    public int typeCount(Class<? extends Pet> type) {
+        if (type == null || type == Pet.class) {
+            return totals[0];
+        }
+        return typeCounts[Cat.class.isAssignableFrom(type) ? PetRecordCodec.TYPE_CAT : PetRecordCodec.TYPE_DOG];
+    }
+
+    // A null gender stands for "All"
+    public int genderCount(Gender gender) {
+        return gender == null ? totals[1] : genderCounts[gender.ordinal() + 1];
+    }
+
+    public int spayStatusCount(SpayStatus spayStatus) {
+        return spayStatus == null ? totals[2] : spayStatusCounts[spayStatus.ordinal()];
+    }
+
+    public int allBreedsCount() {
+        return totals[3];
+    }
+
+    // Breeds with at least one pet, alphabetically; pets without a breed are only in allBreedsCount
+    public Map<String, Integer> breedCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (int code = 0; code < breedCounts.length; code++) {
+            String breed = breedCounts[code] > 0 ? AttributeDictionary.STRINGS.decode(code) : null;
+            if (breed != null && !breed.isEmpty()) {
+                counts.put(breed, breedCounts[code]);
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+}
@@ -0,0 +1,98 @@
+package petadoptionapp;
+
+// Encapsulation - Attribute criteria that PetColumnStore can evaluate without touching Pet objects
+public class PetFilter {
+    private Class<? extends Pet> type;
+    private Gender gender;
+    private String breed;
+    private SpayStatus spayStatus;
+    private int minAgeMonths = 0;
+    private int maxAgeMonths = Integer.MAX_VALUE;
+
+    public static PetFilter all() {
+        return new PetFilter();
+    }
+
+    // A null argument leaves that attribute unconstrained
+    public PetFilter ofType(Class<? extends Pet> type) {
+        this.type = type;
+        return this;
+    }
+
+    public PetFilter withGender(Gender gender) {
+        this.gender = gender;
+        return this;
+    }
+
+    public PetFilter withBreed(String breed) {
+        this.breed = breed;
+        return this;
+    }
+
+    public PetFilter withSpayStatus(SpayStatus spayStatus) {
+        this.spayStatus = spayStatus;
+        return this;
+    }
+
+    // Inclusive range over age expressed in months (years * 12 + months)
+    public PetFilter withAgeMonths(int minAgeMonths, int maxAgeMonths) {
+        this.minAgeMonths = minAgeMonths;
+        this.maxAgeMonths = maxAgeMonths;
+        return this;
+    }
+
+    public Class<? extends Pet> getType() {
+        return type;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public String getBreed() {
+        return breed;
+    }
+
+    public SpayStatus getSpayStatus() {
+        return spayStatus;
+    }
+
+    public int getMinAgeMonths() {
+        return minAgeMonths;
+    }
+
+    public int getMaxAgeMonths() {
+        return maxAgeMonths;
+    }
+
+    // Compiles the criteria into an AND of indexed terms
+    public PetIndexQuery toQuery() {
+        PetIndexQuery query = PetIndexQuery.all();
+        if (type != null) {
+            query = query.and(PetIndexQuery.type(type));
+        }
+        if (gender != null) {
+            query = query.and(PetIndexQuery.gender(gender));
+        }
+        if (breed != null) {
+            query = query.and(PetIndexQuery.breed(breed));
+        }
+        if (spayStatus != null) {
+            query = query.and(PetIndexQuery.spayStatus(spayStatus));
+        }
+        if (minAgeMonths > 0 || maxAgeMonths < Integer.MAX_VALUE) {
+            query = query.and(PetIndexQuery.ageMonths(minAgeMonths, maxAgeMonths));
+        }
+        return query;
+    }
+
+    // Object-at-a-time form of the same criteria
+    public boolean matches(Pet pet) {
+        return (type == null || type.isInstance(pet))
+                && (gender == null || gender == pet.getGender())
+                && (breed == null || breed.equals(pet.getBreed()))
+                && (spayStatus == null || spayStatus == pet.getSpayStatus())
+                && PetColumnStore.ageInMonths(pet) >= minAgeMonths
+                && PetColumnStore.ageInMonths(pet) <= maxAgeMonths;
+    }
+}
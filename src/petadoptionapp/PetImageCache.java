@@ -0,0 +1,138 @@
+package petadoptionapp;
+
+import javax.swing.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Encapsulation - Decoded, scaled images shared by every screen of the app.
+ *
+ * Entries are keyed by source path and target size, so the grid, the
+ * details dialog and the home page reuse one copy of each photo instead of
+ * decoding it again on every open. The cache is bounded by the memory the
+ * pixels take, not by entry count, since a carousel slide weighs twice a
+ * card photo; the least recently used images are evicted first. The
+ * loader's worker threads fill it while the EDT reads it, so it locks.
+ */
+final class PetImageCache {
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+    // Decoded images are held as 32-bit ARGB
+    private static final int BYTES_PER_PIXEL = 4;
+
+    static final PetImageCache SHARED = new PetImageCache(MAX_BYTES);
+
+    private final long maxBytes;
+    // Access order, so iteration starts at the least recently used image
+    private final Map<Key, ImageIcon> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    PetImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    // The cached image, or null on a miss
+    synchronized ImageIcon get(String sourcePath, int width, int height) {
+        ImageIcon icon = entries.get(new Key(sourcePath, width, height));
+        if (icon == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return icon;
+    }
+
+    // Like get, but not counted; for a worker checking whether another request already decoded the image
+    synchronized ImageIcon peek(String sourcePath, int width, int height) {
+        return entries.get(new Key(sourcePath, width, height));
+    }
+
+    // Images larger than the whole budget are not kept
+    synchronized void put(String sourcePath, int width, int height, ImageIcon icon) {
+        long bytes = bytesOf(icon);
+        if (bytes > maxBytes) {
+            return;
+        }
+        ImageIcon previous = entries.put(new Key(sourcePath, width, height), icon);
+        if (previous != null) {
+            totalBytes -= bytesOf(previous);
+        }
+        totalBytes += bytes;
+        Iterator<ImageIcon> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes) {
+            totalBytes -= bytesOf(eldest.next());
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    // Images dropped to stay within the byte budget
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PetImageCache[entries=" + entries.size() + ", bytes=" + totalBytes + ", hits=" + hitCount
+                + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+    }
+
+    private static long bytesOf(ImageIcon icon) {
+        return (long) icon.getIconWidth() * icon.getIconHeight() * BYTES_PER_PIXEL;
+    }
+
+    // Encapsulation - One source image at one target size
+    private static final class Key {
+        private final String sourcePath;
+        private final int width;
+        private final int height;
+
+        Key(String sourcePath, int width, int height) {
+            this.sourcePath = sourcePath;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return width == key.width && height == key.height && sourcePath.equals(key.sourcePath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sourcePath, width, height);
+        }
+    }
+}
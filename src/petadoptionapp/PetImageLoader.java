@@ -0,0 +1,234 @@
+package petadoptionapp;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/*
+ * Abstraction - Decodes and scales pet photos away from the Event Dispatch Thread.
+ *
+ * A small fixed pool of daemon threads does the decoding and scaling, so
+ * opening a screen full of cards never blocks the UI; callers show
+ * placeholder() meanwhile. The finished icon is handed back on the EDT.
+ * A Request whose card has scrolled away or been rebuilt is cancelled:
+ * it is dropped if still queued, interrupted if running, and its result
+ * is never delivered. Finished images are kept in PetImageCache.
+ */
+final class PetImageLoader {
+    // Leaves a core for the EDT on multi-core machines
+    private static final int WORKER_COUNT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static final Color PLACEHOLDER_COLOR = Color.decode("#ECEFF3");
+    private static final ThreadPoolExecutor WORKERS = createWorkers();
+
+    private PetImageLoader() {
+    }
+
+    private static ThreadPoolExecutor createWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKER_COUNT, WORKER_COUNT, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "pet-image-loader-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        workers.allowCoreThreadTimeOut(true);
+        return workers;
+    }
+
+    // Abstraction - One pending image; cancel() guarantees its callbacks will not run afterwards
+    static final class Request {
+        private volatile boolean cancelled;
+        private volatile Future<?> task;
+
+        void cancel() {
+            cancelled = true;
+            Future<?> current = task;
+            if (current != null && current.cancel(true)) {
+                // Queued tasks would otherwise stay in the queue until a worker reached them
+                WORKERS.remove((Runnable) current);
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        // Queues the next stage of this request behind everything already waiting
+        private void submit(Runnable stage) {
+            task = WORKERS.submit(stage);
+            if (cancelled) {
+                // cancel() ran while the stage was being handed over and may have missed it
+                cancel();
+            }
+        }
+    }
+
+    /*
+     * Decodes the image at source scaled to width x height on a worker
+     * thread. Exactly one of onLoaded and onFailed then runs on the EDT,
+     * unless the request is cancelled first. An image already in
+     * PetImageCache is handed to onLoaded before this returns, so screens
+     * reopened on the EDT show it without a placeholder frame.
+     */
+    static Request load(URL source, int width, int height, Consumer<ImageIcon> onLoaded, Runnable onFailed) {
+        return load(source, width, height, null, onLoaded, onFailed);
+    }
+
+    /*
+     * Like load, but a photo that has to be decoded from its original
+     * first hands a coarse preview, stretched to width x height, to
+     * onPreview. The sharp image is decoded after every request queued
+     * meanwhile has shown its own preview, so a screen full of cards fills
+     * in quickly and then sharpens. Cached images skip the preview.
+     */
+    static Request load(URL source, int width, int height, Consumer<ImageIcon> onPreview,
+                        Consumer<ImageIcon> onLoaded, Runnable onFailed) {
+        Request request = new Request();
+        String sourcePath = source.toExternalForm();
+        ImageIcon cached = PetImageCache.SHARED.get(sourcePath, width, height);
+        if (cached != null) {
+            onLoaded.accept(cached);
+            return request;
+        }
+        request.submit(() -> {
+            try {
+                // Another request may have decoded the same image while this one waited in the queue
+                ImageIcon icon = PetImageCache.SHARED.peek(sourcePath, width, height);
+                if (icon != null) {
+                    deliver(request, () -> onLoaded.accept(icon));
+                    return;
+                }
+                String sourceVersion = ThumbnailDiskCache.versionOf(source);
+                ImageIcon thumbnail = readThumbnail(sourcePath, sourceVersion, width, height);
+                if (thumbnail != null) {
+                    deliver(request, () -> onLoaded.accept(thumbnail));
+                    return;
+                }
+                // Only a thumbnail miss reads the original
+                byte[] sourceBytes = readAllBytes(source);
+                if (onPreview != null) {
+                    ImageIcon preview = new ImageIcon(ImageScaler.scale(SubsampledImageDecoder.decodePreview(
+                            sourceBytes, width, height), width, height, ImageScaler.Quality.FAST));
+                    deliver(request, () -> onPreview.accept(preview));
+                    request.submit(() -> refine(request, sourcePath, sourceVersion, sourceBytes, width, height,
+                            onLoaded, onFailed));
+                } else {
+                    refine(request, sourcePath, sourceVersion, sourceBytes, width, height, onLoaded, onFailed);
+                }
+            } catch (Exception e) {
+                deliver(request, onFailed);
+            }
+        });
+        return request;
+    }
+
+    // Blocks the caller; only for small fixed images a dialog cannot be shown without
+    static ImageIcon loadNow(URL source, int width, int height) throws Exception {
+        String sourcePath = source.toExternalForm();
+        ImageIcon icon = PetImageCache.SHARED.get(sourcePath, width, height);
+        if (icon == null) {
+            String sourceVersion = ThumbnailDiskCache.versionOf(source);
+            icon = readThumbnail(sourcePath, sourceVersion, width, height);
+            if (icon == null) {
+                icon = decodeScaled(sourcePath, readAllBytes(source), width, height);
+                writeThumbnail(sourcePath, sourceVersion, icon);
+            }
+        }
+        return icon;
+    }
+
+    // Final stage of a request: decode the original, hand over the result, then keep it on disk
+    private static void refine(Request request, String sourcePath, String sourceVersion, byte[] sourceBytes,
+                               int width, int height, Consumer<ImageIcon> onLoaded, Runnable onFailed) {
+        ImageIcon icon;
+        try {
+            icon = decodeScaled(sourcePath, sourceBytes, width, height);
+        } catch (Exception e) {
+            deliver(request, onFailed);
+            return;
+        }
+        deliver(request, () -> onLoaded.accept(icon));
+        writeThumbnail(sourcePath, sourceVersion, icon);
+    }
+
+    // Runs the callback on the EDT unless the request is cancelled before it gets there
+    private static void deliver(Request request, Runnable callback) {
+        if (request.isCancelled()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (!request.isCancelled()) {
+                callback.run();
+            }
+        });
+    }
+
+    private static byte[] readAllBytes(URL source) throws IOException {
+        try (InputStream in = source.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    // Warm starts read the small thumbnail kept by ThumbnailDiskCache instead of the original
+    private static ImageIcon readThumbnail(String sourcePath, String sourceVersion, int width, int height) {
+        BufferedImage thumbnail = ThumbnailDiskCache.SHARED.read(sourcePath, sourceVersion, width, height);
+        if (thumbnail == null) {
+            return null;
+        }
+        ImageIcon icon = new ImageIcon(ImageScaler.toCompatible(thumbnail));
+        PetImageCache.SHARED.put(sourcePath, width, height, icon);
+        return icon;
+    }
+
+    /*
+     * Decodes the original at close to width x height, scales the rest of
+     * the way, and keeps the result in PetImageCache.
+     */
+    private static ImageIcon decodeScaled(String sourcePath, byte[] sourceBytes, int width, int height) throws Exception {
+        BufferedImage decoded = SubsampledImageDecoder.decode(sourceBytes, width, height);
+        BufferedImage thumbnail = ImageScaler.scale(decoded, width, height, ImageScaler.Quality.BALANCED);
+        ImageIcon icon = new ImageIcon(thumbnail);
+        PetImageCache.SHARED.put(sourcePath, width, height, icon);
+        return icon;
+    }
+
+    // PNG encoding is slow, so it is queued as its own task rather than holding up the image it stores
+    private static void writeThumbnail(String sourcePath, String sourceVersion, ImageIcon icon) {
+        BufferedImage thumbnail = (BufferedImage) icon.getImage();
+        WORKERS.execute(() -> ThumbnailDiskCache.SHARED.write(sourcePath, sourceVersion, thumbnail));
+    }
+
+    // A flat tile the size of the final image, so layouts do not jump when it arrives
+    static Icon placeholder(int width, int height) {
+        return new Icon() {
+            @Override
+            public void paintIcon(Component c, Graphics g, int x, int y) {
+                Graphics2D g2 = (Graphics2D) g.create();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.setColor(PLACEHOLDER_COLOR);
+                g2.fillRoundRect(x, y, width, height, 12, 12);
+                g2.dispose();
+            }
+
+            @Override
+            public int getIconWidth() {
+                return width;
+            }
+
+            @Override
+            public int getIconHeight() {
+                return height;
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package petadoptionapp;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+ * Abstraction - Boolean combination of indexed pet attributes.
+ *
+ * A query is built from attribute terms joined with and/or/not, e.g.
+ *   type(Dog.class).and(gender(Gender.FEMALE)).and(specialNeeds().not()).and(ageMonths(0, 11))
+ * PetColumnStore evaluates it as bitmap operations over pet ordinals, so no
+ * per-pet predicate runs. matches(Pet) gives the same answer for a single pet.
+ */
+public final class PetIndexQuery {
+    private static final PetIndexQuery ALL = new PetIndexQuery(PetColumnStore::allRows, pet -> true);
+
+    private final Function<PetColumnStore, CompressedBitmap> evaluator;
+    private final Predicate<Pet> predicate;
+
+    private PetIndexQuery(Function<PetColumnStore, CompressedBitmap> evaluator, Predicate<Pet> predicate) {
+        this.evaluator = evaluator;
+        this.predicate = predicate;
+    }
+
+    public static PetIndexQuery all() {
+        return ALL;
+    }
+
+    public static PetIndexQuery type(Class<? extends Pet> type) {
+        return new PetIndexQuery(store -> store.typeRows(type), type::isInstance);
+    }
+
+    public static PetIndexQuery gender(Gender gender) {
+        return new PetIndexQuery(store -> store.genderRows(gender), pet -> pet.getGender() == gender);
+    }
+
+    public static PetIndexQuery breed(String breed) {
+        return new PetIndexQuery(store -> store.breedRows(breed), pet -> breed.equals(pet.getBreed()));
+    }
+
+    public static PetIndexQuery spayStatus(SpayStatus status) {
+        return new PetIndexQuery(store -> store.spayStatusRows(status), pet -> pet.getSpayStatus() == status);
+    }
+
+    public static PetIndexQuery specialNeeds() {
+        return new PetIndexQuery(PetColumnStore::specialNeedsRows, Pet::hasSpecialNeeds);
+    }
+
+    // Inclusive range over age in months (years * 12 + months)
+    public static PetIndexQuery ageMonths(int minAgeMonths, int maxAgeMonths) {
+        return new PetIndexQuery(store -> store.ageRows(minAgeMonths, maxAgeMonths), pet -> {
+            int age = PetColumnStore.ageInMonths(pet);
+            return age >= minAgeMonths && age <= maxAgeMonths;
+        });
+    }
+
+    public PetIndexQuery and(PetIndexQuery other) {
+        // all() is the identity for AND, so compiled filters do not pay for an extra intersection
+        if (this == ALL || other == ALL) {
+            return this == ALL ? other : this;
+        }
+        return new PetIndexQuery(store -> evaluate(store).and(other.evaluate(store)),
+                predicate.and(other.predicate));
+    }
+
+    public PetIndexQuery or(PetIndexQuery other) {
+        return new PetIndexQuery(store -> evaluate(store).or(other.evaluate(store)),
+                predicate.or(other.predicate));
+    }
+
+    public PetIndexQuery not() {
+        return new PetIndexQuery(store -> store.allRows().andNot(evaluate(store)), predicate.negate());
+    }
+
+    public boolean matches(Pet pet) {
+        return predicate.test(pet);
+    }
+
+    CompressedBitmap evaluate(PetColumnStore store) {
+        return evaluator.apply(store);
+    }
+}
@@ -0,0 +1,51 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Encapsulation - Describes what a load recovered and what had to be quarantined
+public class PetLoadReport {
+    private int recoveredCount;
+    private final List<String> lostRecords = new ArrayList<>();
+    private final List<byte[]> quarantinedBytes = new ArrayList<>();
+
+    public int getRecoveredCount() {
+        return recoveredCount;
+    }
+
+    public List<String> getLostRecords() {
+        return Collections.unmodifiableList(lostRecords);
+    }
+
+    public boolean hasLosses() {
+        return !lostRecords.isEmpty();
+    }
+
+    void setRecoveredCount(int recoveredCount) {
+        this.recoveredCount = recoveredCount;
+    }
+
+    void recordLoss(String source, long offset, String reason, byte[] rawBytes) {
+        lostRecords.add(source + " @" + offset + ": " + reason);
+        quarantinedBytes.add(rawBytes);
+    }
+
+    // Appends the raw bytes of every damaged record so nothing is thrown away
+    void writeQuarantine(File quarantineFile) {
+        if (quarantinedBytes.isEmpty()) {
+            return;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(quarantineFile, true)))) {
+            for (int i = 0; i < quarantinedBytes.size(); i++) {
+                byte[] bytes = quarantinedBytes.get(i);
+                out.writeUTF(lostRecords.get(i));
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing pet quarantine: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package petadoptionapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/*
+ * Encapsulation - Trigram index over pet names for typo-tolerant type-ahead.
+ *
+ * Names are lowercased and padded at the front ("$$choknat"), and every
+ * three-character window points to the ordinals whose name contains it. A
+ * query is split the same way; names sharing enough trigrams with it are
+ * checked with a prefix edit distance, so "Chocn" still suggests "Choknat".
+ * Suggestions are served from a background thread while the EDT edits the
+ * catalog, so every method locks the index.
+ */
+class PetNameIndex {
+    private static final char PAD = '$';
+    private static final int GRAM_LENGTH = 3;
+    // Checked between posting lists so a cancelled query stops promptly
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final Map<String, Postings> postingsByGram = new HashMap<>();
+    private Pet[] pets = new Pet[16];
+    private String[] names = new String[16];
+    // Scratch space for suggest; safe to share because every query holds the lock.
+    // sharedCounts is all zero between queries.
+    private short[] sharedCounts = new short[16];
+    private int[] previousRow = new int[32];
+    private int[] currentRow = new int[32];
+
+    public synchronized void add(int ordinal, Pet pet) {
+        if (ordinal >= pets.length) {
+            int capacity = Math.max(ordinal + 1, pets.length * 2);
+            pets = Arrays.copyOf(pets, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        String name = fold(pet.getName());
+        pets[ordinal] = pet;
+        names[ordinal] = name;
+        for (String gram : grams(name)) {
+            postingsByGram.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    // Uses the name as it was indexed, since the pet may already have been renamed
+    public synchronized void remove(int ordinal) {
+        if (ordinal >= names.length || names[ordinal] == null) {
+            return;
+        }
+        for (String gram : grams(names[ordinal])) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings != null) {
+                postings.remove(ordinal);
+                if (postings.size == 0) {
+                    postingsByGram.remove(gram);
+                }
+            }
+        }
+        pets[ordinal] = null;
+        names[ordinal] = null;
+    }
+
+    /*
+     * Returns up to limit pets whose name starts with something close to the
+     * query, closest first, then shorter names, then alphabetically. Throws
+     * CancellationException if the calling thread is interrupted meanwhile.
+     */
+    public synchronized List<Pet> suggest(String query, int limit) {
+        String folded = fold(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int maxDistance = maxDistance(folded.length());
+        Set<String> queryGrams = grams(folded);
+        int gramCount = queryGrams.size();
+        // q-gram bound: each edit destroys at most three of the query's trigrams
+        int threshold = Math.max(1, gramCount - GRAM_LENGTH * maxDistance);
+
+        List<Postings> queryPostings = new ArrayList<>(gramCount);
+        for (String gram : queryGrams) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings != null) {
+                queryPostings.add(postings);
+            }
+        }
+        if (sharedCounts.length < pets.length) {
+            sharedCounts = new short[pets.length];
+        }
+        short[] shared = sharedCounts;
+        try {
+            return rank(folded, maxDistance, gramCount, threshold, queryPostings, shared, limit);
+        } finally {
+            for (Postings postings : queryPostings) {
+                for (int i = 0; i < postings.size; i++) {
+                    shared[postings.ordinals[i]] = 0;
+                }
+            }
+        }
+    }
+
+    private List<Pet> rank(String folded, int maxDistance, int gramCount, int threshold,
+                           List<Postings> queryPostings, short[] shared, int limit) {
+        int[] candidates = new int[64];
+        int candidateCount = 0;
+        int scanned = 0;
+        for (Postings postings : queryPostings) {
+            for (int i = 0; i < postings.size; i++) {
+                int ordinal = postings.ordinals[i];
+                if (++shared[ordinal] == threshold) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = ordinal;
+                }
+            }
+            scanned += postings.size;
+            if (scanned >= CANCEL_CHECK_INTERVAL) {
+                checkCancelled();
+                scanned = 0;
+            }
+        }
+
+        // Counting sort so candidates sharing the most trigrams are checked first
+        int[] bucketEnds = new int[gramCount + 2];
+        for (int i = 0; i < candidateCount; i++) {
+            bucketEnds[shared[candidates[i]]]++;
+        }
+        for (int count = gramCount; count > 0; count--) {
+            bucketEnds[count - 1] += bucketEnds[count];
+        }
+        // Bucket c holds ordered[bucketEnds[c + 1]] up to ordered[bucketEnds[c] - 1]
+        int[] ordered = new int[candidateCount];
+        int[] fill = Arrays.copyOf(bucketEnds, bucketEnds.length);
+        for (int i = 0; i < candidateCount; i++) {
+            ordered[--fill[shared[candidates[i]]]] = candidates[i];
+        }
+
+        Suggestions best = new Suggestions(limit);
+        for (int count = gramCount; count >= threshold; count--) {
+            // Fewer shared trigrams imply at least this many edits; once that cannot beat the list, stop
+            int lowerBound = (gramCount - count + GRAM_LENGTH - 1) / GRAM_LENGTH;
+            if (best.isFull() && lowerBound >= best.worstDistance()) {
+                break;
+            }
+            for (int i = bucketEnds[count + 1]; i < bucketEnds[count]; i++) {
+                int ordinal = ordered[i];
+                int distance = prefixDistance(folded, names[ordinal], maxDistance);
+                if (distance <= maxDistance) {
+                    best.offer(ordinal, distance);
+                }
+                if ((i + 1) % CANCEL_CHECK_INTERVAL == 0) {
+                    checkCancelled();
+                }
+            }
+        }
+        return best.toPets();
+    }
+
+    // Short queries must match exactly; longer ones tolerate one or two typos
+    private static int maxDistance(int queryLength) {
+        if (queryLength <= 2) {
+            return 0;
+        }
+        return queryLength <= 5 ? 1 : 2;
+    }
+
+    /*
+     * Smallest edit distance between the query and any prefix of the name,
+     * or maxDistance + 1 as soon as every prefix is known to be further away.
+     */
+    int prefixDistance(String query, String name, int maxDistance) {
+        if (maxDistance == 0) {
+            return name.startsWith(query) ? 0 : 1;
+        }
+        if (previousRow.length <= name.length()) {
+            previousRow = new int[name.length() + 1];
+            currentRow = new int[name.length() + 1];
+        }
+        int[] previous = previousRow;
+        int[] current = currentRow;
+        for (int j = 0; j <= name.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= name.length(); j++) {
+                int cost = query.charAt(i - 1) == name.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = previous[0];
+        for (int j = 1; j <= name.length(); j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    // Encapsulation - The best few matches seen so far, kept in rank order
+    private final class Suggestions {
+        private final int[] ordinals;
+        private final int[] distances;
+        private int size;
+
+        Suggestions(int limit) {
+            ordinals = new int[limit];
+            distances = new int[limit];
+        }
+
+        boolean isFull() {
+            return size == ordinals.length;
+        }
+
+        int worstDistance() {
+            return distances[size - 1];
+        }
+
+        void offer(int ordinal, int distance) {
+            if (isFull() && !ranksBefore(ordinal, distance, ordinals[size - 1], distances[size - 1])) {
+                return;
+            }
+            int i = isFull() ? size - 1 : size++;
+            while (i > 0 && ranksBefore(ordinal, distance, ordinals[i - 1], distances[i - 1])) {
+                ordinals[i] = ordinals[i - 1];
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            ordinals[i] = ordinal;
+            distances[i] = distance;
+        }
+
+        private boolean ranksBefore(int ordinal, int distance, int otherOrdinal, int otherDistance) {
+            if (distance != otherDistance) {
+                return distance < otherDistance;
+            }
+            if (names[ordinal].length() != names[otherOrdinal].length()) {
+                return names[ordinal].length() < names[otherOrdinal].length();
+            }
+            return names[ordinal].compareTo(names[otherOrdinal]) < 0;
+        }
+
+        List<Pet> toPets() {
+            List<Pet> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                suggestions.add(pets[ordinals[i]]);
+            }
+            return suggestions;
+        }
+    }
+
+    private static Set<String> grams(String name) {
+        String padded = "" + PAD + PAD + name;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String fold(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Name search superseded");
+        }
+    }
+
+    // Encapsulation - Sorted ordinals of the names containing one trigram
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            // New pets get the highest ordinal, so this is almost always an append
+            int i = size > 0 && ordinals[size - 1] >= ordinal ? Arrays.binarySearch(ordinals, 0, size, ordinal) : -size - 1;
+            if (i >= 0) {
+                return;
+            }
+            i = -i - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, i, ordinals, i + 1, size - i);
+            ordinals[i] = ordinal;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int i = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (i >= 0) {
+                System.arraycopy(ordinals, i + 1, ordinals, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+}
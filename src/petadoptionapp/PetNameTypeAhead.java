@@ -0,0 +1,173 @@
+package petadoptionapp;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/*
+ * Abstraction - Fuzzy pet-name suggestions under a text field.
+ *
+ * Every keystroke looks names up on a background thread and cancels the
+ * lookup still running for the previous keystroke, so only the newest text
+ * ever reaches the popup. Up/Down move through the suggestions, Enter or a
+ * click picks one, Escape closes the popup.
+ */
+class PetNameTypeAhead {
+    private static final int MAX_SUGGESTIONS = 8;
+    private static final Color TEXT_COLOR = Color.decode("#333333");
+    private static final Color SELECTED_BACKGROUND = Color.decode("#4A699A");
+    // One lookup thread shared by every field; lookups are short and only the newest matters
+    private static final ExecutorService LOOKUP = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pet-name-lookup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final JTextField field;
+    private final Consumer<Pet> onPick;
+    private final DefaultListModel<Pet> suggestionModel = new DefaultListModel<>();
+    private final JList<Pet> suggestionList = new JList<>(suggestionModel);
+    private final JPopupMenu popup = new JPopupMenu();
+    private Future<?> pendingLookup;
+    // Bumped on every keystroke; a result for an older generation is dropped
+    private int generation;
+
+    private PetNameTypeAhead(JTextField field, Consumer<Pet> onPick) {
+        this.field = field;
+        this.onPick = onPick;
+
+        suggestionList.setFont(new Font("SansSerif", Font.PLAIN, 15));
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.setFocusable(false);
+        suggestionList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                Pet pet = (Pet) value;
+                String type = (pet instanceof Cat) ? "Cat" : "Dog";
+                JLabel label = (JLabel) super.getListCellRendererComponent(list, pet.getName() + " (" + type + ")",
+                        index, isSelected, cellHasFocus);
+                label.setBorder(new EmptyBorder(5, 10, 5, 10));
+                if (isSelected) {
+                    label.setBackground(SELECTED_BACKGROUND);
+                    label.setForeground(Color.WHITE);
+                } else {
+                    label.setBackground(Color.WHITE);
+                    label.setForeground(TEXT_COLOR);
+                }
+                return label;
+            }
+        });
+        suggestionList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = suggestionList.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    pick(suggestionModel.get(index));
+                }
+            }
+        });
+
+        popup.setFocusable(false);
+        popup.setBorder(BorderFactory.createLineBorder(Color.decode("#E0E0E0"), 1));
+        popup.add(new JScrollPane(suggestionList));
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                lookUp();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                lookUp();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                lookUp();
+            }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                int selected = suggestionList.getSelectedIndex();
+                if (e.getKeyCode() == KeyEvent.VK_DOWN) {
+                    suggestionList.setSelectedIndex(Math.min(selected + 1, suggestionModel.size() - 1));
+                    e.consume();
+                } else if (e.getKeyCode() == KeyEvent.VK_UP) {
+                    suggestionList.setSelectedIndex(Math.max(selected - 1, 0));
+                    e.consume();
+                } else if (e.getKeyCode() == KeyEvent.VK_ENTER && selected >= 0) {
+                    pick(suggestionModel.get(selected));
+                    e.consume();
+                } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    popup.setVisible(false);
+                    e.consume();
+                }
+            }
+        });
+    }
+
+    // Shows suggestions for the field; onPick runs on the EDT with the chosen pet
+    static void attach(JTextField field, Consumer<Pet> onPick) {
+        new PetNameTypeAhead(field, onPick);
+    }
+
+    private void lookUp() {
+        int lookupGeneration = ++generation;
+        if (pendingLookup != null) {
+            pendingLookup.cancel(true);
+        }
+        String query = field.getText();
+        if (query.trim().isEmpty()) {
+            popup.setVisible(false);
+            return;
+        }
+        pendingLookup = LOOKUP.submit(() -> {
+            try {
+                List<Pet> suggestions = PetDataManager.suggestPetNames(query, MAX_SUGGESTIONS);
+                SwingUtilities.invokeLater(() -> show(lookupGeneration, suggestions));
+            } catch (CancellationException superseded) {
+                // A newer keystroke already queued its own lookup
+            }
+        });
+    }
+
+    private void show(int lookupGeneration, List<Pet> suggestions) {
+        if (lookupGeneration != generation) {
+            return;
+        }
+        suggestionModel.clear();
+        for (Pet pet : suggestions) {
+            suggestionModel.addElement(pet);
+        }
+        if (suggestions.isEmpty() || !field.isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        suggestionList.setVisibleRowCount(suggestions.size());
+        popup.setPopupSize(Math.max(field.getWidth(), 200), suggestionList.getPreferredScrollableViewportSize().height + 4);
+        popup.show(field, 0, field.getHeight());
+        field.requestFocusInWindow();
+    }
+
+    private void pick(Pet pet) {
+        popup.setVisible(false);
+        onPick.accept(pet);
+    }
+}
@@ -0,0 +1,136 @@
+package petadoptionapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/*
+ * Encapsulation - Background writer that keeps disk I/O off the Swing EDT.
+ * Mutations queued while a write is in progress are committed together,
+ * so a burst of admin edits costs a single append + fsync.
+ */
+class PetPersistenceService {
+    private final File catalogFile;
+    private final PetChangeLog changeLog;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile long snapshotEpoch;
+    private volatile boolean running = true;
+
+    private static class PendingWrite {
+        final byte[] logRecord;
+        final List<byte[]> snapshot;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingWrite(byte[] logRecord, List<byte[]> snapshot) {
+            this.logRecord = logRecord;
+            this.snapshot = snapshot;
+        }
+    }
+
+    PetPersistenceService(File catalogFile, PetChangeLog changeLog) {
+        this.catalogFile = catalogFile;
+        this.changeLog = changeLog;
+        this.writerThread = new Thread(this::runWriter, "pet-persistence");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "pet-persistence-shutdown"));
+    }
+
+    public long getSnapshotEpoch() {
+        return snapshotEpoch;
+    }
+
+    public void setSnapshotEpoch(long snapshotEpoch) {
+        this.snapshotEpoch = snapshotEpoch;
+    }
+
+    public CompletableFuture<Void> append(byte[] logRecord) {
+        return enqueue(new PendingWrite(logRecord, null));
+    }
+
+    // Encoded on the caller's thread, like log records, so the writer never reads a pet the EDT is changing
+    public CompletableFuture<Void> snapshot(List<Pet> pets) {
+        return enqueue(new PendingWrite(null, PetCatalogFile.encodeRecords(pets)));
+    }
+
+    private CompletableFuture<Void> enqueue(PendingWrite write) {
+        if (!running) {
+            write.done.completeExceptionally(new IOException("Pet persistence has been shut down"));
+            return write.done;
+        }
+        queue.add(write);
+        return write.done;
+    }
+
+    // Waits for every queued write to reach the disk
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        CompletableFuture<Void> last = append(null);
+        running = false;
+        try {
+            last.join();
+        } catch (RuntimeException e) {
+            System.err.println("Error flushing pets on shutdown: " + e.getMessage());
+        }
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    // Group commit - one durable write for everything that queued up meanwhile
+    private void commit(List<PendingWrite> batch) {
+        List<byte[]> logRecords = new ArrayList<>();
+        try {
+            for (PendingWrite write : batch) {
+                if (write.snapshot != null) {
+                    // The snapshot already contains every edit queued before it
+                    logRecords.clear();
+                    writeSnapshot(write.snapshot);
+                } else if (write.logRecord != null) {
+                    logRecords.add(write.logRecord);
+                }
+            }
+            changeLog.appendAll(logRecords);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error saving pets: " + e.getMessage());
+            for (PendingWrite write : batch) {
+                write.done.completeExceptionally(e);
+            }
+            return;
+        }
+        for (PendingWrite write : batch) {
+            write.done.complete(null);
+        }
+    }
+
+    // Temp file + fsync + atomic rename, then a fresh change log for the new snapshot
+    private void writeSnapshot(List<byte[]> records) throws IOException {
+        File tempFile = new File(catalogFile.getPath() + ".tmp");
+        long nextEpoch = snapshotEpoch + 1;
+        PetCatalogFile.write(tempFile, records, nextEpoch);
+        Files.move(tempFile.toPath(), catalogFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshotEpoch = nextEpoch;
+        changeLog.reset(nextEpoch);
+    }
+}
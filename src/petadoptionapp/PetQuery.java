@@ -0,0 +1,139 @@
+package petadoptionapp;
+
+import java.util.function.Predicate;
+
+/*
+ * Abstraction - Declarative description of which pets to read and in what order.
+ *
+ *   PetQuery.all().ofType(Dog.class).withGender(Gender.FEMALE).matching("calm")
+ *           .where(pet -> pet.getColor().contains("Brown"))
+ *           .sortedBy(PetSortOrder.NAME).limit(20)
+ *
+ * Attribute criteria, where(PetIndexQuery) terms and search words are
+ * answered from the indexes; where(Predicate) can test anything and is
+ * checked pet by pet. Callers only say what they want: PetQueryPlanner picks
+ * the access path when PetDataManager runs the query.
+ */
+public final class PetQuery {
+    private final PetFilter filter = PetFilter.all();
+    private PetIndexQuery terms = PetIndexQuery.all();
+    // Checked per pet; null when every criterion is indexed
+    private Predicate<Pet> predicate;
+    private String searchText = "";
+    private PetSortOrder order = PetSortOrder.CATALOG;
+    private int limit = Integer.MAX_VALUE;
+
+    public static PetQuery all() {
+        return new PetQuery();
+    }
+
+    // Starts from a copy of the filter's criteria
+    public static PetQuery from(PetFilter filter) {
+        return all().ofType(filter.getType())
+                .withGender(filter.getGender())
+                .withBreed(filter.getBreed())
+                .withSpayStatus(filter.getSpayStatus())
+                .withAgeMonths(filter.getMinAgeMonths(), filter.getMaxAgeMonths());
+    }
+
+    // A null argument leaves that attribute unconstrained
+
+    public PetQuery ofType(Class<? extends Pet> type) {
+        filter.ofType(type);
+        return this;
+    }
+
+    public PetQuery withGender(Gender gender) {
+        filter.withGender(gender);
+        return this;
+    }
+
+    public PetQuery withBreed(String breed) {
+        filter.withBreed(breed);
+        return this;
+    }
+
+    public PetQuery withSpayStatus(SpayStatus spayStatus) {
+        filter.withSpayStatus(spayStatus);
+        return this;
+    }
+
+    public PetQuery withAgeMonths(int minAgeMonths, int maxAgeMonths) {
+        filter.withAgeMonths(minAgeMonths, maxAgeMonths);
+        return this;
+    }
+
+    // ANDs an indexed term, e.g. where(PetIndexQuery.specialNeeds().not())
+    public PetQuery where(PetIndexQuery term) {
+        terms = terms.and(term);
+        return this;
+    }
+
+    // ANDs a condition no index covers; it is tested pet by pet
+    public PetQuery where(Predicate<Pet> condition) {
+        predicate = predicate == null ? condition : predicate.and(condition);
+        return this;
+    }
+
+    // Full-text search words; a blank text matches every pet
+    public PetQuery matching(String searchText) {
+        this.searchText = searchText == null ? "" : searchText;
+        return this;
+    }
+
+    // CATALOG keeps catalog order, or best match first when there is search text
+    public PetQuery sortedBy(PetSortOrder order) {
+        this.order = order == null ? PetSortOrder.CATALOG : order;
+        return this;
+    }
+
+    public PetQuery limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public PetFilter getFilter() {
+        return filter;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public PetSortOrder getSortOrder() {
+        return order;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    // Object-at-a-time form of every criterion, ignoring sort and limit
+    public boolean matches(Pet pet) {
+        return filter.matches(pet)
+                && terms.matches(pet)
+                && (predicate == null || predicate.test(pet))
+                && PetTextIndex.matches(pet, searchText);
+    }
+
+    // The attribute criteria and indexed terms as one bitmap query
+    PetIndexQuery indexedCriteria() {
+        return filter.toQuery().and(terms);
+    }
+
+    Predicate<Pet> getPredicate() {
+        return predicate;
+    }
+
+    boolean hasSearchText() {
+        return !PetTextIndex.tokenize(searchText).isEmpty();
+    }
+
+    // Only the filter tuple, search text and sort order are set, so PetResultCache can hold the result
+    boolean isFilterTuple() {
+        return terms == PetIndexQuery.all() && predicate == null;
+    }
+}
@@ -0,0 +1,116 @@
+package petadoptionapp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/*
+ * Abstraction - Chooses how a PetQuery is answered.
+ *
+ * A query whose criteria are all indexed is answered from bitmaps, the text
+ * index and the sort permutations alone. When it also has a where(Predicate)
+ * condition, indexed criteria still narrow the candidates first and only
+ * those pets are tested. With nothing indexed to narrow by, every pet is
+ * tested, in fork-join chunks once the catalog reaches
+ * PetColumnStore.PARALLEL_THRESHOLD. Sorted and limited results stop
+ * walking as soon as the limit is reached.
+ */
+class PetQueryPlanner {
+    enum Strategy {
+        INDEX,
+        INDEX_THEN_FILTER,
+        SCAN,
+        PARALLEL_SCAN
+    }
+
+    static Plan plan(PetQuery query, int catalogSize) {
+        boolean narrowed = query.indexedCriteria() != PetIndexQuery.all() || query.hasSearchText();
+        Strategy strategy;
+        if (query.getPredicate() == null) {
+            strategy = Strategy.INDEX;
+        } else if (narrowed) {
+            strategy = Strategy.INDEX_THEN_FILTER;
+        } else {
+            strategy = catalogSize >= PetColumnStore.PARALLEL_THRESHOLD ? Strategy.PARALLEL_SCAN : Strategy.SCAN;
+        }
+        return new Plan(query, strategy);
+    }
+
+    // Encapsulation - A query with its chosen strategy, run against the column store
+    static final class Plan {
+        private final PetQuery query;
+        private final Strategy strategy;
+
+        private Plan(PetQuery query, Strategy strategy) {
+            this.query = query;
+            this.strategy = strategy;
+        }
+
+        Strategy getStrategy() {
+            return strategy;
+        }
+
+        // Matching ordinals in the query's order, at most limit of them
+        int[] execute(PetColumnStore store) {
+            int limit = query.getLimit();
+            Predicate<Pet> predicate = query.getPredicate();
+            List<Pet> pets = store.petsByOrdinal();
+            if (strategy == Strategy.SCAN || strategy == Strategy.PARALLEL_SCAN) {
+                int[] scanned = store.scan(predicate, strategy == Strategy.PARALLEL_SCAN);
+                if (query.getSortOrder() == PetSortOrder.CATALOG) {
+                    return scanned.length <= limit ? scanned : Arrays.copyOf(scanned, limit);
+                }
+                CompressedBitmap matches = new CompressedBitmap();
+                for (int ordinal : scanned) {
+                    matches.add(ordinal);
+                }
+                return take(store.sortedWalk(query.getSortOrder(), matches), null, pets, limit);
+            }
+
+            PetIndexQuery indexed = query.indexedCriteria();
+            if (query.getSortOrder() != PetSortOrder.CATALOG) {
+                return take(store.sortedWalk(query.getSortOrder(), indexed, query.getSearchText()), predicate, pets, limit);
+            }
+            int[] ordinals = store.search(query.getSearchText(), indexed);
+            if (predicate == null) {
+                return ordinals.length <= limit ? ordinals : Arrays.copyOf(ordinals, limit);
+            }
+            int count = 0;
+            for (int i = 0; i < ordinals.length && count < limit; i++) {
+                Pet pet = pets.get(ordinals[i]);
+                if (pet != null && predicate.test(pet)) {
+                    ordinals[count++] = ordinals[i];
+                }
+            }
+            return Arrays.copyOf(ordinals, count);
+        }
+
+        // Pulls from the walk until it runs out or limit ordinals pass the predicate
+        private static int[] take(PetCursor.OrdinalWalk walk, Predicate<Pet> predicate, List<Pet> pets, int limit) {
+            int[] ordinals = new int[16];
+            int count = 0;
+            while (count < limit) {
+                int ordinal = walk.nextOrdinal();
+                if (ordinal < 0) {
+                    break;
+                }
+                if (predicate != null) {
+                    Pet pet = pets.get(ordinal);
+                    if (pet == null || !predicate.test(pet)) {
+                        continue;
+                    }
+                }
+                if (count == ordinals.length) {
+                    ordinals = Arrays.copyOf(ordinals, count * 2);
+                }
+                ordinals[count++] = ordinal;
+            }
+            return Arrays.copyOf(ordinals, count);
+        }
+
+        @Override
+        public String toString() {
+            return strategy + " " + query.getSortOrder() + (query.getLimit() == Integer.MAX_VALUE ? "" : " limit " + query.getLimit());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package petadoptionapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/*
+ * Encapsulation - Binary layout of a single pet record (length-prefixed UTF-8 fields).
+ *
+ * Legacy records: type, age, months, name, description, imagePath, gender
+ * Typed records (type | TYPED_FLAG): type, age, months, name, imagePath, gender, color, breed,
+ *   health status, spay status (byte), vaccination count (int) and names, notes
+ * With ID_FLAG set, the pet ID (long) follows the type byte
+ */
+class PetRecordCodec {
+    static final byte TYPE_CAT = 1;
+    static final byte TYPE_DOG = 2;
+    private static final byte TYPED_FLAG = 0x40;
+    private static final byte ID_FLAG = 0x20;
+    private static final byte TYPE_MASK = 0x0F;
+
+    private PetRecordCodec() {
+    }
+
+    public static byte[] encode(Pet pet) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            // Polymorphism - Record type is taken from the runtime subclass
+            out.writeByte((pet instanceof Cat ? TYPE_CAT : TYPE_DOG) | TYPED_FLAG | ID_FLAG);
+            out.writeLong(pet.getId());
+            out.writeInt(pet.getAge());
+            out.writeInt(pet.getMonths());
+            writeString(out, pet.getName());
+            writeString(out, pet.getImagePath());
+            writeString(out, pet.getGender() == null ? null : pet.getGender().getLabel());
+            writeString(out, pet.getColor());
+            writeString(out, pet.getBreed());
+            writeString(out, pet.getHealthStatus());
+            out.writeByte(pet.getSpayStatus().ordinal());
+            Set<String> vaccinations = pet.getVaccinations();
+            out.writeInt(vaccinations.size());
+            for (String vaccination : vaccinations) {
+                writeString(out, vaccination);
+            }
+            writeString(out, pet.getNotes());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // A record cut short inside its frame surfaces as an IOException, like any other damage
+    public static Pet decode(ByteBuffer buffer) throws IOException {
+        try {
+            return decodeRecord(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated pet record");
+        }
+    }
+
+    private static Pet decodeRecord(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        if ((type & TYPED_FLAG) == 0) {
+            return decodeLegacy(type, buffer);
+        }
+        long id = (type & ID_FLAG) != 0 ? buffer.getLong() : 0;
+        int age = buffer.getInt();
+        int months = buffer.getInt();
+        String name = readString(buffer);
+        String imagePath = readString(buffer);
+        Gender gender = Gender.fromLabel(readString(buffer));
+
+        Pet pet = newPet((byte) (type & TYPE_MASK), name, age, months, gender, imagePath);
+        pet.setId(id);
+        pet.setColor(readString(buffer));
+        pet.setBreed(readString(buffer));
+        pet.setHealthStatus(readString(buffer));
+        byte spayStatus = buffer.get();
+        if (spayStatus < 0 || spayStatus >= SpayStatus.values().length) {
+            throw new IOException("Unknown spay status " + spayStatus);
+        }
+        pet.setSpayStatus(SpayStatus.values()[spayStatus]);
+        int vaccinationCount = buffer.getInt();
+        if (vaccinationCount < 0 || vaccinationCount > buffer.remaining() / 4) {
+            throw new IOException("Invalid vaccination count " + vaccinationCount);
+        }
+        Set<String> vaccinations = new LinkedHashSet<>();
+        for (int i = 0; i < vaccinationCount; i++) {
+            vaccinations.add(readString(buffer));
+        }
+        pet.setVaccinations(vaccinations);
+        pet.setNotes(readString(buffer));
+        return pet;
+    }
+
+    // Records written before typed attributes keep the free-text description; Pet parses it lazily
+    private static Pet decodeLegacy(byte type, ByteBuffer buffer) throws IOException {
+        int age = buffer.getInt();
+        int months = buffer.getInt();
+        String name = readString(buffer);
+        String description = readString(buffer);
+        String imagePath = readString(buffer);
+        String gender = readString(buffer);
+
+        switch (type) {
+            case TYPE_CAT:
+                return new Cat(name, age, months, description, imagePath, gender);
+            case TYPE_DOG:
+                return new Dog(name, age, months, description, imagePath, gender);
+            default:
+                throw new IOException("Unknown pet record type " + type);
+        }
+    }
+
+    // Polymorphism - Creates the subclass named by the record type
+    private static Pet newPet(byte type, String name, int age, int months, Gender gender, String imagePath) throws IOException {
+        switch (type) {
+            case TYPE_CAT:
+                return new Cat(name, age, months, gender, imagePath);
+            case TYPE_DOG:
+                return new Dog(name, age, months, gender, imagePath);
+            default:
+                throw new IOException("Unknown pet record type " + type);
+        }
+    }
+
+    public static int checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid field length " + length);
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,20 @@
+package petadoptionapp;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+// Abstraction - Storage SPI; UI classes only ever talk to it through PetDataManager
+public interface PetRepository {
+    ArrayList<Pet> loadPets();
+
+    PetLoadReport getLastLoadReport();
+
+    // Each mutation is called after the list has been changed; the future completes once it is on disk
+    CompletableFuture<Void> recordAdd(ArrayList<Pet> pets, Pet pet);
+
+    CompletableFuture<Void> recordUpdate(ArrayList<Pet> pets, Pet pet);
+
+    CompletableFuture<Void> recordRemove(ArrayList<Pet> pets, Pet pet);
+
+    CompletableFuture<Void> savePets(ArrayList<Pet> pets);
+}
@@ -0,0 +1,194 @@
+package petadoptionapp;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Encapsulation - Recently shown grid results, as pet IDs in display order.
+ *
+ * Entries are keyed by the filter tuple (type, gender, breed, spay status,
+ * age range, search words and sort order), so flipping between filters the
+ * user has already seen skips the index work. When a pet is added, edited
+ * or removed, only the entries it could change are dropped: those that
+ * listed it and those whose filter and search text it matches now.
+ * The dropdown counts for a filter tuple are kept next to its results, so
+ * showing a cached result does not recount every pet either.
+ */
+public final class PetResultCache {
+    private static final int MAX_ENTRIES = 64;
+
+    // Access order, so the least recently shown result is evicted first
+    private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Facet counts ignore sort order; keyed with a null order
+    private final Map<Key, PetFacetCounts> facets = new LinkedHashMap<Key, PetFacetCounts>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, PetFacetCounts> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long hitCount;
+    private long missCount;
+    private long invalidationCount;
+
+    // The cached IDs in display order, or null on a miss; callers must not modify them
+    long[] get(PetFilter filter, String searchText, PetSortOrder order) {
+        Entry entry = entries.get(new Key(filter, searchText, order));
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.ids;
+    }
+
+    void put(PetFilter filter, String searchText, PetSortOrder order, long[] ids) {
+        Key key = new Key(filter, searchText, order);
+        entries.put(key, new Entry(key, ids));
+    }
+
+    // The cached counts for this filter and search text, or null on a miss
+    PetFacetCounts getFacets(PetFilter filter, String searchText) {
+        return facets.get(new Key(filter, searchText, null));
+    }
+
+    void putFacets(PetFilter filter, String searchText, PetFacetCounts counts) {
+        facets.put(new Key(filter, searchText, null), counts);
+    }
+
+    // Drops the entries the pet belonged to or belongs to now; call after the change is applied
+    void invalidate(Pet pet) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.contains(pet.getId()) || entry.key.matches(pet)) {
+                iterator.remove();
+                invalidationCount++;
+            }
+        }
+        // Facets count every pet in the age range and search, whatever the other filters say
+        facets.keySet().removeIf(key -> key.counts(pet));
+    }
+
+    // An edited pet's old age and text are gone by the time it is saved, so any facet may have counted it
+    void invalidateFacets() {
+        facets.clear();
+    }
+
+    void clear() {
+        entries.clear();
+        facets.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    // Entries dropped because a pet they depend on changed
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "PetResultCache[entries=" + size() + ", facets=" + facets.size() + ", hits=" + hitCount
+                + ", misses=" + missCount + ", invalidations=" + invalidationCount + "]";
+    }
+
+    // Encapsulation - One filter tuple; search text is reduced to its words, as search reads it
+    private static final class Key {
+        private final Class<? extends Pet> type;
+        private final Gender gender;
+        private final String breed;
+        private final SpayStatus spayStatus;
+        private final int minAgeMonths;
+        private final int maxAgeMonths;
+        private final List<String> searchWords;
+        private final PetSortOrder order;
+        // Copies of the criteria, since the caller's filter may be reused
+        private final PetFilter criteria;
+        private final PetFilter ageRange;
+        private final String searchText;
+
+        Key(PetFilter filter, String searchText, PetSortOrder order) {
+            this.type = filter.getType() == Pet.class ? null : filter.getType();
+            this.gender = filter.getGender();
+            this.breed = filter.getBreed();
+            this.spayStatus = filter.getSpayStatus();
+            this.minAgeMonths = filter.getMinAgeMonths();
+            this.maxAgeMonths = filter.getMaxAgeMonths();
+            this.searchWords = PetTextIndex.tokenize(searchText);
+            this.order = order;
+            this.criteria = PetFilter.all()
+                    .ofType(type)
+                    .withGender(gender)
+                    .withBreed(breed)
+                    .withSpayStatus(spayStatus)
+                    .withAgeMonths(minAgeMonths, maxAgeMonths);
+            this.ageRange = PetFilter.all().withAgeMonths(minAgeMonths, maxAgeMonths);
+            this.searchText = String.join(" ", searchWords);
+        }
+
+        boolean matches(Pet pet) {
+            return criteria.matches(pet) && PetTextIndex.matches(pet, searchText);
+        }
+
+        // Whether the pet is among those the facet counts for this tuple are taken over
+        boolean counts(Pet pet) {
+            return ageRange.matches(pet) && PetTextIndex.matches(pet, searchText);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return type == key.type && gender == key.gender && Objects.equals(breed, key.breed)
+                    && spayStatus == key.spayStatus && minAgeMonths == key.minAgeMonths
+                    && maxAgeMonths == key.maxAgeMonths && searchWords.equals(key.searchWords) && order == key.order;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, gender, breed, spayStatus, minAgeMonths, maxAgeMonths, searchWords, order);
+        }
+    }
+
+    // Encapsulation - Cached IDs plus a sorted copy for membership checks
+    private static final class Entry {
+        private final Key key;
+        private final long[] ids;
+        private final long[] sortedIds;
+
+        Entry(Key key, long[] ids) {
+            this.key = key;
+            this.ids = ids;
+            this.sortedIds = ids.clone();
+            Arrays.sort(sortedIds);
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(sortedIds, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package petadoptionapp;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Encapsulation - Sorted permutations of pet ordinals, one per sort key.
+ *
+ * Each permutation stores a precomputed key per ordinal: a CollationKey for
+ * the name, a packed long (age in months above the ordinal) for age and the
+ * negated ID for newest intake. A permutation is sorted once, the first time
+ * its order is asked for; from then on adding, editing or removing a pet
+ * moves only that ordinal, so switching sort order never re-sorts the
+ * catalog. Pages are read through keyset walks, which resume after the last
+ * pet returned even if the permutation changed in between. The age
+ * permutation also answers age-range lookups with two binary searches.
+ */
+class PetSortIndex {
+    private final Permutation byName = new NamePermutation();
+    private final LongKeyPermutation byAge = new LongKeyPermutation() {
+        @Override
+        long keyOf(int ordinal, Pet pet) {
+            return ((long) PetColumnStore.ageInMonths(pet) << 32) | ordinal;
+        }
+    };
+    private final Permutation byIntake = new LongKeyPermutation() {
+        @Override
+        long keyOf(int ordinal, Pet pet) {
+            // IDs are unique and grow with each intake, so the highest ID sorts first
+            return -pet.getId();
+        }
+    };
+    private final Permutation[] permutations = {byName, byAge, byIntake};
+    // Live pets by ordinal (empty slots are null), read when a permutation is first built
+    private final List<Pet> petsByOrdinal;
+
+    PetSortIndex(List<Pet> petsByOrdinal) {
+        this.petsByOrdinal = petsByOrdinal;
+    }
+
+    public void add(int ordinal, Pet pet) {
+        for (Permutation permutation : permutations) {
+            if (permutation.built) {
+                permutation.setKey(ordinal, pet);
+                permutation.insert(ordinal);
+            }
+        }
+    }
+
+    // Must run before the ordinal's keys are replaced, since the old keys locate it
+    public void remove(int ordinal) {
+        for (Permutation permutation : permutations) {
+            if (permutation.built) {
+                permutation.remove(ordinal);
+            }
+        }
+    }
+
+    // Walks the ordinals in the given order, keeping only those in matches; null matches keeps all
+    public Walk walk(PetSortOrder order, CompressedBitmap matches) {
+        return new Walk(built(permutationFor(order)), order == PetSortOrder.OLDEST, matches);
+    }
+
+    // Ordinals aged minAgeMonths to maxAgeMonths inclusive, youngest first, found by two binary searches
+    public int[] ordinalsInAgeRange(int minAgeMonths, int maxAgeMonths) {
+        built(byAge);
+        if (minAgeMonths > maxAgeMonths || maxAgeMonths < 0) {
+            return new int[0];
+        }
+        int from = byAge.lowerBound((long) Math.max(0, minAgeMonths) << 32);
+        int to = maxAgeMonths == Integer.MAX_VALUE ? byAge.size : byAge.lowerBound((long) (maxAgeMonths + 1) << 32);
+        return Arrays.copyOfRange(byAge.order, from, to);
+    }
+
+    // Ages in months of the matching pets in ascending order; null matches keeps all
+    public int[] agesInOrder(CompressedBitmap matches) {
+        built(byAge);
+        int[] ages = new int[matches == null ? byAge.size : matches.cardinality()];
+        int count = 0;
+        for (int i = 0; i < byAge.size; i++) {
+            int ordinal = byAge.order[i];
+            if (matches == null || matches.contains(ordinal)) {
+                ages[count++] = (int) (byAge.keys[ordinal] >>> 32);
+            }
+        }
+        return count == ages.length ? ages : Arrays.copyOf(ages, count);
+    }
+
+    private Permutation built(Permutation permutation) {
+        if (!permutation.built) {
+            permutation.build(petsByOrdinal);
+        }
+        return permutation;
+    }
+
+    private Permutation permutationFor(PetSortOrder order) {
+        switch (order) {
+            case NAME:
+                return byName;
+            case YOUNGEST:
+            case OLDEST:
+                return byAge;
+            case NEWEST:
+                return byIntake;
+            default:
+                throw new IllegalArgumentException("Catalog order needs no sort index: " + order);
+        }
+    }
+
+    /*
+     * Abstraction - Stable position in one sort order.
+     *
+     * The walk remembers the key of the last ordinal it returned. If the
+     * permutation has changed since, it binary-searches back to that key
+     * instead of trusting its old array index, so pets added or removed
+     * elsewhere are neither repeated nor skipped.
+     */
+    static final class Walk implements PetCursor.OrdinalWalk {
+        private final Permutation permutation;
+        private final boolean descending;
+        private final CompressedBitmap matches;
+        private int position;
+        private int seenModCount;
+        private int lastOrdinal = -1;
+        private Object lastKey;
+
+        private Walk(Permutation permutation, boolean descending, CompressedBitmap matches) {
+            this.permutation = permutation;
+            this.descending = descending;
+            this.matches = matches;
+            this.position = descending ? permutation.size - 1 : 0;
+            this.seenModCount = permutation.modCount;
+        }
+
+        @Override
+        public int nextOrdinal() {
+            if (seenModCount != permutation.modCount) {
+                if (lastKey != null) {
+                    int after = permutation.seekAfter(lastKey, lastOrdinal);
+                    position = descending ? after - 1 : after;
+                    // seekAfter skips equal entries, which for a descending walk are still ahead
+                    if (descending && position >= 0 && permutation.compareToKey(lastKey, lastOrdinal, permutation.order[position]) == 0) {
+                        position--;
+                    }
+                } else {
+                    position = descending ? permutation.size - 1 : 0;
+                }
+                seenModCount = permutation.modCount;
+            }
+            while (position >= 0 && position < permutation.size) {
+                int ordinal = permutation.order[position];
+                position += descending ? -1 : 1;
+                if (matches == null || matches.contains(ordinal)) {
+                    lastOrdinal = ordinal;
+                    lastKey = permutation.key(ordinal);
+                    return ordinal;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // Abstraction - Ordinals kept sorted by a per-ordinal key, ties broken by ordinal
+    private abstract static class Permutation {
+        int[] order = new int[16];
+        int size;
+        // Bumped on every insert and remove so walks know to re-seek
+        int modCount;
+        // Until built, the permutation ignores catalog changes
+        boolean built;
+
+        abstract void setKey(int ordinal, Pet pet);
+
+        abstract Object key(int ordinal);
+
+        // Compares a remembered key (for keyOrdinal) with the current key of ordinal
+        abstract int compareToKey(Object key, int keyOrdinal, int ordinal);
+
+        abstract int compare(int ordinal, int otherOrdinal);
+
+        // Keys every live pet and sorts them once; later changes move single ordinals
+        void build(List<Pet> petsByOrdinal) {
+            Integer[] ordinals = new Integer[petsByOrdinal.size()];
+            int count = 0;
+            for (int ordinal = 0; ordinal < petsByOrdinal.size(); ordinal++) {
+                Pet pet = petsByOrdinal.get(ordinal);
+                if (pet != null) {
+                    setKey(ordinal, pet);
+                    ordinals[count++] = ordinal;
+                }
+            }
+            Arrays.sort(ordinals, 0, count, this::compare);
+            order = new int[Math.max(16, count)];
+            for (int i = 0; i < count; i++) {
+                order[i] = ordinals[i];
+            }
+            size = count;
+            built = true;
+            modCount++;
+        }
+
+        void insert(int ordinal) {
+            ensureCapacity();
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(order[mid], ordinal) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(order, low, order, low + 1, size - low);
+            order[low] = ordinal;
+            size++;
+            modCount++;
+        }
+
+        void remove(int ordinal) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = compare(order[mid], ordinal);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    System.arraycopy(order, mid + 1, order, mid, size - mid - 1);
+                    size--;
+                    modCount++;
+                    return;
+                }
+            }
+        }
+
+        // Index of the first entry that sorts after the remembered key
+        int seekAfter(Object key, int keyOrdinal) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareToKey(key, keyOrdinal, order[mid]) >= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void ensureCapacity() {
+            if (size == order.length) {
+                order = Arrays.copyOf(order, size * 2);
+            }
+        }
+    }
+
+    // Keys are plain longs, so most comparisons are a single primitive compare
+    private abstract static class LongKeyPermutation extends Permutation {
+        long[] keys = new long[16];
+
+        abstract long keyOf(int ordinal, Pet pet);
+
+        @Override
+        void setKey(int ordinal, Pet pet) {
+            if (ordinal >= keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(ordinal + 1, keys.length * 2));
+            }
+            keys[ordinal] = keyOf(ordinal, pet);
+        }
+
+        @Override
+        Object key(int ordinal) {
+            return keys[ordinal];
+        }
+
+        @Override
+        int compareToKey(Object key, int keyOrdinal, int ordinal) {
+            int comparison = Long.compare((Long) key, keys[ordinal]);
+            return comparison != 0 ? comparison : Integer.compare(keyOrdinal, ordinal);
+        }
+
+        @Override
+        int compare(int ordinal, int otherOrdinal) {
+            int comparison = Long.compare(keys[ordinal], keys[otherOrdinal]);
+            return comparison != 0 ? comparison : Integer.compare(ordinal, otherOrdinal);
+        }
+
+        // Index of the first entry whose key is at least the given one
+        int lowerBound(long key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[order[mid]] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /*
+     * Names compare by their CollationKey, so accents and case sort the way
+     * the locale expects. The first eight bytes of each key are also packed
+     * into a long, which settles most comparisons without touching the key.
+     */
+    private static final class NamePermutation extends Permutation {
+        private final Collator collator = Collator.getInstance();
+        private CollationKey[] keys = new CollationKey[16];
+        private long[] prefixes = new long[16];
+
+        NamePermutation() {
+            collator.setStrength(Collator.SECONDARY);
+        }
+
+        @Override
+        void setKey(int ordinal, Pet pet) {
+            if (ordinal >= keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(ordinal + 1, keys.length * 2));
+                prefixes = Arrays.copyOf(prefixes, keys.length);
+            }
+            keys[ordinal] = collator.getCollationKey(pet.getName() == null ? "" : pet.getName());
+            prefixes[ordinal] = prefix(keys[ordinal]);
+        }
+
+        private static long prefix(CollationKey key) {
+            byte[] bytes = key.toByteArray();
+            long prefix = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                prefix = (prefix << 8) | (i < bytes.length ? bytes[i] & 0xFF : 0);
+            }
+            return prefix;
+        }
+
+        @Override
+        Object key(int ordinal) {
+            return keys[ordinal];
+        }
+
+        @Override
+        int compareToKey(Object key, int keyOrdinal, int ordinal) {
+            int comparison = Long.compareUnsigned(prefix((CollationKey) key), prefixes[ordinal]);
+            if (comparison == 0) {
+                comparison = ((CollationKey) key).compareTo(keys[ordinal]);
+            }
+            return comparison != 0 ? comparison : Integer.compare(keyOrdinal, ordinal);
+        }
+
+        @Override
+        int compare(int ordinal, int otherOrdinal) {
+            int comparison = Long.compareUnsigned(prefixes[ordinal], prefixes[otherOrdinal]);
+            if (comparison == 0) {
+                comparison = keys[ordinal].compareTo(keys[otherOrdinal]);
+            }
+            return comparison != 0 ? comparison : Integer.compare(ordinal, otherOrdinal);
+        }
+    }
+}
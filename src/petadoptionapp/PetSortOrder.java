@@ -0,0 +1,36 @@
+package petadoptionapp;
+
+// Encapsulation - Orders the pet grid can be sorted by, labelled for the sort dropdown
+public enum PetSortOrder {
+    CATALOG("Default"),
+    NAME("Name (A-Z)"),
+    YOUNGEST("Age (youngest first)"),
+    OLDEST("Age (oldest first)"),
+    NEWEST("Newest intake");
+
+    private final String label;
+
+    PetSortOrder(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static PetSortOrder fromLabel(String label) {
+        if (label != null) {
+            for (PetSortOrder order : values()) {
+                if (order.label.equalsIgnoreCase(label.trim())) {
+                    return order;
+                }
+            }
+        }
+        return CATALOG;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,243 @@
+package petadoptionapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/*
+ * Encapsulation - Inverted index from description words to pet ordinals.
+ *
+ * Each pet's name and typed attributes are split into lowercase words, and
+ * every word keeps a posting list of the ordinals it appears in together
+ * with a weight (a match in the name counts more than one in the notes).
+ * Words are kept sorted so a query word also matches every longer word it
+ * is a prefix of, e.g. "deaf" finds "deafness". PetColumnStore updates the
+ * index whenever a pet is added, edited or removed.
+ */
+class PetTextIndex {
+    // Weight of one occurrence, by where the word appears
+    private static final int NAME_WEIGHT = 8;
+    private static final int BREED_WEIGHT = 4;
+    private static final int ATTRIBUTE_WEIGHT = 3;
+    private static final int VACCINATION_WEIGHT = 2;
+    private static final int NOTES_WEIGHT = 1;
+    private static final int MAX_WEIGHT = 255;
+    // A whole-word match scores this many times a prefix match
+    private static final int EXACT_MATCH_FACTOR = 2;
+
+    private final TreeMap<String, Postings> postingsByWord = new TreeMap<>();
+    // Posting lists each ordinal was added to, so an edit can take the old words out
+    private final Map<Integer, Postings[]> postingsByOrdinal = new HashMap<>();
+
+    public void add(int ordinal, Pet pet) {
+        Map<String, Integer> weights = weights(pet);
+        Postings[] added = new Postings[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Postings postings = postingsByWord.computeIfAbsent(entry.getKey(), Postings::new);
+            postings.add(ordinal, Math.min(MAX_WEIGHT, entry.getValue()));
+            added[i++] = postings;
+        }
+        postingsByOrdinal.put(ordinal, added);
+    }
+
+    public void remove(int ordinal) {
+        Postings[] indexed = postingsByOrdinal.remove(ordinal);
+        if (indexed == null) {
+            return;
+        }
+        for (Postings postings : indexed) {
+            postings.remove(ordinal);
+            if (postings.size == 0) {
+                postingsByWord.remove(postings.word);
+            }
+        }
+    }
+
+    /*
+     * Returns the ordinals that match every word of the query, best match
+     * first; equal scores keep catalog order. An empty query returns null so
+     * the caller can fall back to its unranked selection.
+     */
+    public int[] search(String query, CompressedBitmap candidates) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return null;
+        }
+        // Each entry packs (ordinal << 16 | score) and is sorted by ordinal
+        long[] matches = null;
+        for (String word : words) {
+            long[] wordMatches = match(word);
+            matches = matches == null ? wordMatches : intersect(matches, wordMatches);
+            if (matches.length == 0) {
+                return new int[0];
+            }
+        }
+
+        int count = 0;
+        for (long match : matches) {
+            int ordinal = (int) (match >>> 16);
+            if (candidates == null || candidates.contains(ordinal)) {
+                // Ranked by score descending, then ordinal ascending
+                matches[count++] = ((long) (0xFFFF - (int) (match & 0xFFFF)) << 32) | ordinal;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        int[] ordinals = new int[count];
+        for (int i = 0; i < count; i++) {
+            ordinals[i] = (int) matches[i];
+        }
+        return ordinals;
+    }
+
+    // Ordinals of every word starting with the given one, with the best score per ordinal
+    private long[] match(String word) {
+        NavigableMap<String, Postings> range = postingsByWord.subMap(word, true, word + Character.MAX_VALUE, false);
+        int total = 0;
+        for (Postings postings : range.values()) {
+            total += postings.size;
+        }
+        long[] matches = new long[total];
+        int count = 0;
+        for (Map.Entry<String, Postings> entry : range.entrySet()) {
+            Postings postings = entry.getValue();
+            int factor = entry.getKey().equals(word) ? EXACT_MATCH_FACTOR : 1;
+            for (int i = 0; i < postings.size; i++) {
+                matches[count++] = ((long) postings.ordinals[i] << 16) | (postings.weights[i] & 0xFF) * factor;
+            }
+        }
+        Arrays.sort(matches);
+        // Sorting puts the highest score for an ordinal last; keep only that one
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (i + 1 < count && matches[i] >>> 16 == matches[i + 1] >>> 16) {
+                continue;
+            }
+            matches[kept++] = matches[i];
+        }
+        return Arrays.copyOf(matches, kept);
+    }
+
+    // Ordinals present in both, with their scores added
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int count = 0, i = 0, j = 0;
+        while (i < left.length && j < right.length) {
+            long leftOrdinal = left[i] >>> 16;
+            long rightOrdinal = right[j] >>> 16;
+            if (leftOrdinal < rightOrdinal) {
+                i++;
+            } else if (leftOrdinal > rightOrdinal) {
+                j++;
+            } else {
+                int score = (int) Math.min(0xFFFF, (left[i] & 0xFFFF) + (right[j] & 0xFFFF));
+                result[count++] = (leftOrdinal << 16) | score;
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // True if every word of the query starts some word of the pet's text, as search would find it
+    static boolean matches(Pet pet, String query) {
+        Map<String, Integer> words = weights(pet);
+        for (String queryWord : tokenize(query)) {
+            boolean found = false;
+            for (String word : words.keySet()) {
+                if (word.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Integer> weights(Pet pet) {
+        Map<String, Integer> weights = new HashMap<>();
+        addWords(weights, pet.getName(), NAME_WEIGHT);
+        addWords(weights, pet.getBreed(), BREED_WEIGHT);
+        addWords(weights, pet.getColor(), ATTRIBUTE_WEIGHT);
+        addWords(weights, pet.getHealthStatus(), ATTRIBUTE_WEIGHT);
+        for (String vaccination : pet.getVaccinations()) {
+            addWords(weights, vaccination, VACCINATION_WEIGHT);
+        }
+        addWords(weights, pet.getNotes(), NOTES_WEIGHT);
+        return weights;
+    }
+
+    private static void addWords(Map<String, Integer> weights, String text, int weight) {
+        for (String word : tokenize(text)) {
+            weights.merge(word, weight, Integer::sum);
+        }
+    }
+
+    // Lowercase runs of letters and digits; everything else separates words
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    // Encapsulation - Sorted ordinals for one word, with a weight per ordinal
+    private static final class Postings {
+        private final String word;
+        private int[] ordinals = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        Postings(String word) {
+            this.word = word;
+        }
+
+        void add(int ordinal, int weight) {
+            // New pets get the highest ordinal, so this is almost always an append
+            int i = size > 0 && ordinals[size - 1] >= ordinal ? Arrays.binarySearch(ordinals, 0, size, ordinal) : -size - 1;
+            if (i >= 0) {
+                weights[i] = (byte) weight;
+                return;
+            }
+            i = -i - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ordinals, i, ordinals, i + 1, size - i);
+            System.arraycopy(weights, i, weights, i + 1, size - i);
+            ordinals[i] = ordinal;
+            weights[i] = (byte) weight;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int i = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (i >= 0) {
+                System.arraycopy(ordinals, i + 1, ordinals, i, size - i - 1);
+                System.arraycopy(weights, i + 1, weights, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+}
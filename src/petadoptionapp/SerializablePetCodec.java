@@ -0,0 +1,35 @@
+package petadoptionapp;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Encapsulation - Default Java serialization of the whole list, as the original pets.dat used
+public class SerializablePetCodec implements PetCodec {
+    @Override
+    public String getName() {
+        return "serializable";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ser";
+    }
+
+    @Override
+    public void write(List<Pet> pets, OutputStream out) throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeObject(new ArrayList<>(pets));
+        oos.flush();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ArrayList<Pet> read(InputStream in) throws IOException {
+        try {
+            return (ArrayList<Pet>) new ObjectInputStream(in).readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not a serialized pet list", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package petadoptionapp;
+
+// Encapsulation - Spay/neuter state as stored on Pet and shown in the admin dropdown
+public enum SpayStatus {
+    NOT_YET("Not yet"),
+    SPAYED("Spayed"),
+    NEUTERED("Neutered");
+
+    private final String label;
+
+    SpayStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static SpayStatus fromLabel(String label) {
+        if (label != null) {
+            for (SpayStatus status : values()) {
+                if (status.label.equalsIgnoreCase(label.trim())) {
+                    return status;
+                }
+            }
+        }
+        return NOT_YET;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,59 @@
+package petadoptionapp;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/*
+ * Abstraction - Decodes a photo at close to the size it will be shown at.
+ *
+ * ImageReadParam source subsampling makes the reader keep only every n-th
+ * pixel of every n-th row, so a 500x500 original meant for a 250x250 card
+ * is decoded straight into a 250x250 image instead of a full-size one that
+ * is then scaled down. The step is the largest that still leaves at least
+ * the target resolution; the preview step is PREVIEW_REDUCTION times that.
+ */
+final class SubsampledImageDecoder {
+    // A preview carries a quarter of the final resolution in each direction
+    private static final int PREVIEW_REDUCTION = 4;
+
+    private SubsampledImageDecoder() {
+    }
+
+    // At least width x height pixels, or the whole image if it is smaller
+    static BufferedImage decode(byte[] sourceBytes, int width, int height) throws IOException {
+        return decode(sourceBytes, width, height, 1);
+    }
+
+    // A coarse decode for showing something while decode() runs; about width/4 x height/4
+    static BufferedImage decodePreview(byte[] sourceBytes, int width, int height) throws IOException {
+        return decode(sourceBytes, width, height, PREVIEW_REDUCTION);
+    }
+
+    private static BufferedImage decode(byte[] sourceBytes, int width, int height, int reduction) throws IOException {
+        // Kept in memory; ImageIO would otherwise spool the stream to a temporary file
+        try (ImageInputStream in = new MemoryCacheImageInputStream(new ByteArrayInputStream(sourceBytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int step = Math.max(1, Math.min(reader.getWidth(0) * reduction / width,
+                        reader.getHeight(0) * reduction / height));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package petadoptionapp;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/*
+ * Encapsulation - Pre-scaled pet photos kept on disk between runs.
+ *
+ * Each thumbnail is a small PNG named after hashes of the source path
+ * and of its version, plus the target size. The version is the photo's
+ * length and modification time, so a warm start finds its thumbnail
+ * without reading the original, and a replaced photo never serves a stale
+ * one. Reads refresh the file's timestamp; once the directory grows past
+ * its byte budget the least recently used files are deleted.
+ *
+ * Workers of PetImageLoader call in concurrently. Reading and decoding a
+ * thumbnail, and encoding one into its own temporary file, run without
+ * the lock; the lock covers only the byte count and the deletes, renames
+ * and evictions that change it.
+ */
+final class ThumbnailDiskCache {
+    // e.g. -Dpetadoptionapp.thumbnails=/tmp/thumbs; defaults to a folder next to pets.dat
+    private static final String DIRECTORY_PROPERTY = "petadoptionapp.thumbnails";
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+    private static final String SUFFIX = ".png";
+
+    static final ThumbnailDiskCache SHARED = new ThumbnailDiskCache(
+            new File(System.getProperty(DIRECTORY_PROPERTY, "thumbnails")), MAX_BYTES);
+
+    private final File directory;
+    private final long maxBytes;
+    // Bytes on disk; -1 until the directory is first measured
+    private long totalBytes = -1;
+
+    ThumbnailDiskCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    // The thumbnail stored for this version of the source at this size, or null if there is none
+    BufferedImage read(String sourcePath, String sourceVersion, int width, int height) {
+        File file = fileFor(sourcePath, sourceVersion, width, height);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            BufferedImage thumbnail = ImageIO.read(file);
+            if (thumbnail != null && thumbnail.getWidth() == width && thumbnail.getHeight() == height) {
+                file.setLastModified(System.currentTimeMillis());
+                return thumbnail;
+            }
+        } catch (IOException e) {
+            // A damaged file is replaced by the next write
+        }
+        synchronized (this) {
+            delete(file);
+        }
+        return null;
+    }
+
+    void write(String sourcePath, String sourceVersion, BufferedImage thumbnail) {
+        File file = fileFor(sourcePath, sourceVersion, thumbnail.getWidth(), thumbnail.getHeight());
+        File temporary = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            // Encoded beside the target under a name of its own and moved into place, so readers never see half a file
+            temporary = Files.createTempFile(directory.toPath(), file.getName(), ".tmp").toFile();
+            if (!ImageIO.write(thumbnail, "png", temporary)) {
+                throw new IOException("No PNG writer available");
+            }
+            synchronized (this) {
+                measure();
+                deleteOtherVersions(file);
+                long replaced = file.length();
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                totalBytes += file.length() - replaced;
+                evict();
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing thumbnail cache: " + e.getMessage());
+            if (temporary != null) {
+                temporary.delete();
+            }
+        }
+    }
+
+    synchronized long sizeInBytes() {
+        measure();
+        return totalBytes;
+    }
+
+    /*
+     * Identifies one version of the photo at source without reading it:
+     * its length and modification time. Sources that report neither are
+     * read once and identified by a hash of their bytes instead.
+     */
+    static String versionOf(URL source) throws IOException {
+        if ("file".equals(source.getProtocol())) {
+            try {
+                File file = new File(source.toURI());
+                return file.length() + "-" + file.lastModified();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // Not a plain local path; ask the connection instead
+            }
+        }
+        URLConnection connection = source.openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            long length = connection.getContentLengthLong();
+            long lastModified = connection.getLastModified();
+            if (length >= 0 && lastModified > 0) {
+                return length + "-" + lastModified;
+            }
+            return hash(in.readAllBytes());
+        }
+    }
+
+    // <path hash>-<version hash>-<width>x<height>.png
+    private File fileFor(String sourcePath, String sourceVersion, int width, int height) {
+        return new File(directory, pathPrefix(sourcePath)
+                + hash(sourceVersion.getBytes(StandardCharsets.UTF_8)) + "-" + width + "x" + height + SUFFIX);
+    }
+
+    private static String pathPrefix(String sourcePath) {
+        return hash(sourcePath.getBytes(StandardCharsets.UTF_8)) + "-";
+    }
+
+    // Thumbnails of an older version of the same photo at the same size can never be read again
+    private void deleteOtherVersions(File file) {
+        String name = file.getName();
+        String prefix = name.substring(0, name.indexOf('-') + 1);
+        String sizeSuffix = name.substring(name.lastIndexOf('-'));
+        File[] versions = directory.listFiles((dir, candidate) ->
+                candidate.startsWith(prefix) && candidate.endsWith(sizeSuffix) && !candidate.equals(name));
+        if (versions != null) {
+            for (File version : versions) {
+                delete(version);
+            }
+        }
+    }
+
+    private void measure() {
+        if (totalBytes >= 0) {
+            return;
+        }
+        totalBytes = 0;
+        for (File file : thumbnailFiles()) {
+            totalBytes += file.length();
+        }
+    }
+
+    // Deletes least recently used thumbnails until the directory fits its budget
+    private void evict() {
+        if (totalBytes <= maxBytes) {
+            return;
+        }
+        File[] files = thumbnailFiles();
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length && totalBytes > maxBytes; i++) {
+            delete(files[i]);
+        }
+    }
+
+    private File[] thumbnailFiles() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+
+    private void delete(File file) {
+        long length = file.length();
+        if (file.delete() && totalBytes >= 0) {
+            totalBytes -= length;
+        }
+    }
+
+    // First 16 hex digits of the SHA-256 digest
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}